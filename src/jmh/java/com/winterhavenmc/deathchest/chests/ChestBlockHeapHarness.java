@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2022 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+
+package com.winterhavenmc.deathchest.chests;
+
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * Measures the heap retained by loaded chest records and chest blocks, in the layout from before chest blocks
+ * were compacted and in the current layout. The classes here copy the field layouts of ChestBlock and
+ * DeathChestRecord, and the sharing of uuids, names and worlds done when records are loaded from the datastore,
+ * so that no server is needed.
+ * <p>
+ * Run each layout in its own JVM, for example:
+ * <pre>
+ * mvn -P github,jmh test-compile exec:exec -Dbenchmark.main=com.winterhavenmc.deathchest.chests.ChestBlockHeapHarness \
+ *     -Dbenchmark.jvmArgs="-XX:+UseSerialGC -Xmx1g" -Dbenchmark.args="old 100000 10000"
+ * </pre>
+ * Arguments are the layout ({@code old} or {@code new}), the number of chests and the number of distinct owners.
+ * Results are in {@code src/jmh/results/ChestBlockHeapHarness.txt}.
+ */
+public final class ChestBlockHeapHarness {
+
+    enum BlockType { LEFT_CHEST, RIGHT_CHEST, SIGN }
+
+
+    /**
+     * Chest block layout before compaction: per-instance plugin, world name and uid, yaw and pitch
+     */
+    static final class OldChestBlock {
+
+        final Object plugin;
+        final UUID chestUid;
+        final String worldName;
+        final UUID worldUid;
+        final int x;
+        final int y;
+        final int z;
+        final float yaw;
+        final float pitch;
+
+        OldChestBlock(final Object plugin, final UUID chestUid, final String worldName, final UUID worldUid,
+                      final int x, final int y, final int z) {
+            this.plugin = plugin;
+            this.chestUid = chestUid;
+            this.worldName = worldName;
+            this.worldUid = worldUid;
+            this.x = x;
+            this.y = y;
+            this.z = z;
+            this.yaw = 0;
+            this.pitch = 0;
+        }
+    }
+
+
+    record HarnessWorldId(UUID uid, String name) { }
+
+
+    /**
+     * Current chest block layout: static plugin reference and a shared world id
+     */
+    static final class NewChestBlock {
+
+        static Object plugin;
+        final UUID chestUid;
+        final HarnessWorldId world;
+        final int x;
+        final int y;
+        final int z;
+
+        NewChestBlock(final UUID chestUid, final HarnessWorldId world, final int x, final int y, final int z) {
+            this.chestUid = chestUid;
+            this.world = world;
+            this.x = x;
+            this.y = y;
+            this.z = z;
+        }
+    }
+
+
+    record HarnessChestRecord(UUID chestUid, UUID ownerUid, String ownerName, UUID killerUid, String killerName,
+                              UUID worldUid, String worldName, int x, int y, int z, int itemCount,
+                              Instant placementTime, Instant expirationTime, Instant protectionTime) { }
+
+
+    // keeps the measured structures reachable until retained heap is measured
+    static Object retained;
+
+
+    private ChestBlockHeapHarness() { }
+
+
+    public static void main(final String[] args) throws InterruptedException {
+
+        final boolean old = args[0].equals("old");
+        final int chestCount = Integer.parseInt(args[1]);
+        final int ownerCount = Integer.parseInt(args[2]);
+
+        final Object plugin = new Object();
+        final UUID serverWorldUid = UUID.randomUUID();
+        final String serverWorldName = "world";
+        final HarnessWorldId worldId = new HarnessWorldId(serverWorldUid, serverWorldName);
+        final Random random = new Random(1);
+
+        final long[][] ownerBits = new long[ownerCount][2];
+        for (long[] bits : ownerBits) {
+            bits[0] = random.nextLong();
+            bits[1] = random.nextLong();
+        }
+
+        final long before = usedHeap();
+
+        final Map<UUID, Object> blockSlots = new ConcurrentHashMap<>();
+        final Map<UUID, HarnessChestRecord> records = new ConcurrentHashMap<>();
+        final Map<UUID, UUID> uuids = new HashMap<>();
+        final Map<String, String> names = new HashMap<>();
+
+        for (int i = 0; i < chestCount; i++) {
+
+            final long[] bits = ownerBits[i % ownerCount];
+            final long msb = random.nextLong();
+            final long lsb = random.nextLong();
+
+            // chest record as read from a result set row: every uuid and string is a new object
+            UUID ownerUid = new UUID(bits[0], bits[1]);
+            String ownerName = new String(("Player" + (i % ownerCount)).toCharArray());
+            UUID killerUid = new UUID(0, 0);
+            String killerName = new String("-".toCharArray());
+            UUID worldUid = new UUID(serverWorldUid.getMostSignificantBits(), serverWorldUid.getLeastSignificantBits());
+            String worldName = new String(serverWorldName.toCharArray());
+
+            // current layout shares uuids and names across records, and takes the world from the world id
+            if (!old) {
+                ownerUid = uuids.computeIfAbsent(ownerUid, k -> k);
+                killerUid = uuids.computeIfAbsent(killerUid, k -> k);
+                ownerName = names.computeIfAbsent(ownerName, k -> k);
+                killerName = names.computeIfAbsent(killerName, k -> k);
+                worldUid = serverWorldUid;
+                worldName = serverWorldName;
+            }
+
+            final UUID chestUid = new UUID(msb, lsb);
+            records.put(chestUid, new HarnessChestRecord(chestUid, ownerUid, ownerName, killerUid, killerName,
+                    worldUid, worldName, i, 64, i, 27,
+                    Instant.ofEpochMilli(i), Instant.ofEpochMilli(i + 1), Instant.ofEpochMilli(i + 2)));
+
+            // three block rows per chest; world name and uid come from the loaded world, chest uid from the row
+            if (old) {
+                final Map<BlockType, OldChestBlock> blockMap = new EnumMap<>(BlockType.class);
+                for (BlockType type : BlockType.values()) {
+                    blockMap.put(type, new OldChestBlock(plugin, new UUID(msb, lsb), serverWorldName, serverWorldUid,
+                            i, 64, i + type.ordinal()));
+                }
+                blockSlots.put(chestUid, blockMap);
+            }
+            else {
+                final NewChestBlock[] slots = new NewChestBlock[BlockType.values().length];
+                for (BlockType type : BlockType.values()) {
+                    slots[type.ordinal()] = new NewChestBlock(new UUID(msb, lsb), worldId, i, 64, i + type.ordinal());
+                }
+                blockSlots.put(chestUid, slots);
+            }
+        }
+
+        // dedup maps only live while records are loaded
+        uuids.clear();
+        names.clear();
+
+        retained = new Object[] { blockSlots, records };
+
+        final long after = usedHeap();
+
+        System.out.printf("%s chests=%d owners=%d retained=%.2f MB (%.1f B/chest) [%s %s]%n",
+                args[0], chestCount, ownerCount, (after - before) / 1048576.0, (after - before) / (double) chestCount,
+                System.getProperty("java.vm.name"), System.getProperty("java.version"));
+    }
+
+
+    private static long usedHeap() throws InterruptedException {
+
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+
+        final Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+}
@@ -0,0 +1,249 @@
+/*
+ * Copyright (c) 2022 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+
+package com.winterhavenmc.deathchest.chests.deployment;
+
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Compares consolidation of dropped stacks from a full player inventory with the pairwise loop it replaced.
+ * <p>
+ * Run with {@code mvn -P github,jmh test-compile exec:exec}. Each invocation consolidates a fresh copy of
+ * one of a fixed set of seeded 41-slot inventories; {@code copyOnly} measures the copy alone.
+ * The stacks here compare only material and a meta id, while a server compares full item meta,
+ * so each {@code isSimilar} call avoided is worth more on a server than it is here.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ConsolidateItemStacksBenchmark {
+
+    // player inventory size, including armor and off hand slots
+    private static final int INVENTORY_SIZE = 41;
+
+    private static final int INVENTORY_COUNT = 256;
+
+    private static final Material[] STACKABLE = { Material.STONE, Material.DIRT, Material.COBBLESTONE,
+            Material.OAK_LOG, Material.TORCH, Material.BREAD, Material.ARROW, Material.ENDER_PEARL };
+
+    private static final Material[] UNSTACKABLE = { Material.DIAMOND_SWORD, Material.DIAMOND_PICKAXE,
+            Material.DIAMOND_AXE, Material.DIAMOND_SHOVEL, Material.DIAMOND_HELMET, Material.DIAMOND_CHESTPLATE,
+            Material.DIAMOND_LEGGINGS, Material.DIAMOND_BOOTS, Material.SHULKER_BOX, Material.BOW };
+
+    /**
+     * Percentage of occupied slots holding items with a max stack size of 1
+     */
+    @Param({ "10", "50", "90" })
+    private int unstackablePercent;
+
+    private final DeploymentFactory deploymentFactory = new DeploymentFactory();
+
+    private List<BenchmarkStack>[] inventories;
+
+    private int next;
+
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() {
+
+        final Random random = new Random(20221);
+
+        inventories = new List[INVENTORY_COUNT];
+        for (int i = 0; i < INVENTORY_COUNT; i++) {
+            inventories[i] = randomInventory(random, unstackablePercent);
+        }
+    }
+
+
+    @Benchmark
+    public Collection<ItemStack> copyOnly() {
+        return nextInventory();
+    }
+
+
+    @Benchmark
+    public Collection<ItemStack> bucketed() {
+        return deploymentFactory.consolidateItemStacks(nextInventory());
+    }
+
+
+    @Benchmark
+    public Collection<ItemStack> pairwise() {
+        return pairwiseConsolidate(nextInventory());
+    }
+
+
+    /**
+     * Get a copy of the next inventory, since consolidation changes stack amounts in place
+     */
+    private List<ItemStack> nextInventory() {
+
+        final List<BenchmarkStack> inventory = inventories[next];
+        next = (next + 1) % INVENTORY_COUNT;
+
+        final List<ItemStack> copy = new ArrayList<>(INVENTORY_SIZE);
+        for (BenchmarkStack stack : inventory) {
+            copy.add(stack == null ? null : new BenchmarkStack(stack.material, stack.maxStackSize, stack.amount, stack.meta));
+        }
+        return copy;
+    }
+
+
+    /**
+     * The pairwise consolidation loop used before stacks were bucketed by material
+     */
+    private static Collection<ItemStack> pairwiseConsolidate(final Collection<ItemStack> itemStacks) {
+
+        final Collection<ItemStack> returnList = new LinkedList<>();
+
+        for (ItemStack itemStack : itemStacks) {
+            if (itemStack == null) {
+                continue;
+            }
+
+            for (ItemStack checkStack : returnList) {
+                if (checkStack == null) {
+                    continue;
+                }
+                if (checkStack.isSimilar(itemStack)) {
+                    int transferAmount = Math.min(itemStack.getAmount(), checkStack.getMaxStackSize() - checkStack.getAmount());
+                    itemStack.setAmount(itemStack.getAmount() - transferAmount);
+                    checkStack.setAmount(checkStack.getAmount() + transferAmount);
+                }
+            }
+            if (itemStack.getAmount() > 0) {
+                returnList.add(itemStack);
+            }
+        }
+        return returnList;
+    }
+
+
+    private static List<BenchmarkStack> randomInventory(final Random random, final int unstackablePercent) {
+
+        final List<BenchmarkStack> inventory = new ArrayList<>(INVENTORY_SIZE);
+
+        for (int slot = 0; slot < INVENTORY_SIZE; slot++) {
+
+            // leave some slots empty
+            if (random.nextInt(8) == 0) {
+                inventory.add(null);
+                continue;
+            }
+
+            if (random.nextInt(100) < unstackablePercent) {
+                // tools and armor usually carry enchantment meta, which makes each one distinct
+                final Material material = UNSTACKABLE[random.nextInt(UNSTACKABLE.length)];
+                inventory.add(new BenchmarkStack(material, 1, 1, random.nextInt(1000)));
+            }
+            else {
+                final Material material = STACKABLE[random.nextInt(STACKABLE.length)];
+                final int maxStackSize = material == Material.ENDER_PEARL ? 16 : 64;
+                final Integer meta = random.nextInt(10) == 0 ? random.nextInt(3) : null;
+                inventory.add(new BenchmarkStack(material, maxStackSize, 1 + random.nextInt(maxStackSize), meta));
+            }
+        }
+
+        return inventory;
+    }
+
+
+    /**
+     * An item stack that does not require a server. Stacks are similar if they have the same material and meta.
+     */
+    private static final class BenchmarkStack extends ItemStack {
+
+        private final Material material;
+        private final int maxStackSize;
+        private final Integer meta;
+        private int amount;
+
+
+        BenchmarkStack(final Material material, final int maxStackSize, final int amount, final Integer meta) {
+            this.material = material;
+            this.maxStackSize = maxStackSize;
+            this.amount = amount;
+            this.meta = meta;
+        }
+
+
+        @Override
+        public Material getType() {
+            return material;
+        }
+
+
+        @Override
+        public int getAmount() {
+            return amount;
+        }
+
+
+        @Override
+        public void setAmount(final int amount) {
+            this.amount = amount;
+        }
+
+
+        @Override
+        public int getMaxStackSize() {
+            return maxStackSize;
+        }
+
+
+        @Override
+        public boolean hasItemMeta() {
+            return meta != null;
+        }
+
+
+        @Override
+        public boolean isSimilar(final ItemStack stack) {
+            return stack instanceof BenchmarkStack benchmarkStack
+                    && material == benchmarkStack.material
+                    && Objects.equals(meta, benchmarkStack.meta);
+        }
+
+    }
+
+}
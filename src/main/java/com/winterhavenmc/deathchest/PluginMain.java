@@ -19,9 +19,7 @@ package com.winterhavenmc.deathchest;
 
 import com.winterhavenmc.deathchest.chests.ChestManager;
 import com.winterhavenmc.deathchest.commands.CommandManager;
-import com.winterhavenmc.deathchest.listeners.BlockEventListener;
-import com.winterhavenmc.deathchest.listeners.InventoryEventListener;
-import com.winterhavenmc.deathchest.listeners.PlayerEventListener;
+import com.winterhavenmc.deathchest.listeners.ListenerManager;
 import com.winterhavenmc.deathchest.util.MetricsHandler;
 import com.winterhavenmc.deathchest.permissions.protectionplugins.ProtectionPluginRegistry;
 
@@ -44,6 +42,8 @@ public final class PluginMain extends JavaPlugin
 	public ChestManager chestManager;
 	public CommandManager commandManager;
 	public ProtectionPluginRegistry protectionPluginRegistry;
+	public ListenerManager listenerManager;
+	private volatile PluginSettings settings;
 
 
 	@Override
@@ -52,6 +52,9 @@ public final class PluginMain extends JavaPlugin
 		// copy default config from jar if it doesn't exist
 		saveDefaultConfig();
 
+		// create settings snapshot from config
+		loadSettings();
+
 		// initialize message builder
 		messageBuilder = MessageBuilder.create(this);
 
@@ -71,9 +74,7 @@ public final class PluginMain extends JavaPlugin
 		commandManager = new CommandManager(this);
 
 		// initialize event listeners
-		new PlayerEventListener(this);
-		new BlockEventListener(this);
-		new InventoryEventListener(this);
+		listenerManager = new ListenerManager(this);
 
 		// instantiate protection plugin registry
 		protectionPluginRegistry = new ProtectionPluginRegistry(this);
@@ -83,6 +84,26 @@ public final class PluginMain extends JavaPlugin
 	}
 
 
+	/**
+	 * Replace the settings snapshot with a new snapshot created from the current config
+	 */
+	public void loadSettings()
+	{
+		settings = PluginSettings.of(getConfig());
+	}
+
+
+	/**
+	 * Get the current settings snapshot
+	 *
+	 * @return PluginSettings - the settings snapshot created when the config was last loaded
+	 */
+	public PluginSettings getSettings()
+	{
+		return settings;
+	}
+
+
 	@Override
 	public void onDisable()
 	{
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2022 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+
+package com.winterhavenmc.deathchest;
+
+import com.winterhavenmc.deathchest.chests.search.SearchType;
+import org.bukkit.configuration.Configuration;
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.util.HashSet;
+import java.util.Set;
+
+
+/**
+ * An immutable snapshot of the configuration settings that are read on frequently executed paths.
+ * A new snapshot is created when the plugin is enabled and each time the configuration is reloaded,
+ * so settings can be read without configuration path lookups.
+ *
+ * @param debug true if debug messages and stack traces are enabled
+ * @param chestProtection true if death chests are protected from access by other players
+ * @param chestProtectionTime the time in minutes that death chests are protected, or zero for unlimited
+ * @param killerLooting true if player killers may loot death chests while protected
+ * @param creativeDeploy true if death chests are deployed for players in creative mode
+ * @param creativeAccess true if players in creative mode may access death chests
+ * @param expireTime the time in minutes before death chests expire, or zero for never
+ * @param requireChest true if a chest in inventory is required to deploy a death chest
+ * @param consumeRequiredChest true if the required chest is removed from inventory on deployment
+ * @param quickLoot true if quick loot is enabled
+ * @param preventItemPlacement true if players are prevented from placing items in death chests
+ * @param chestSigns true if signs are placed on death chests
+ * @param logInventoryOnDeath true if player inventories are logged on death
+ * @param chestDeploymentDelay the time in ticks to delay death chest deployment after death
+ * @param searchType the strategy used to search for a death chest location
+ * @param searchDistance the distance from the death location to search for a chest location
+ * @param placeAboveVoid true if death chests may be placed above the void
+ * @param lazyChestLoading true if chests are loaded into the index when their chunk is loaded
+ * @param expireTickBudget the time in milliseconds per tick allowed for processing expired chests
+ * @param pendingChunkLoadsPerSecond the number of chunks loaded per second to complete deferred operations
+ * @param accessCheckCacheTtl the time in ticks to cache protection plugin access check results
+ * @param circuitBreakerEnabled true if the protection plugin circuit breaker is enabled
+ * @param circuitBreakerFailureThreshold the number of consecutive failed checks that open the circuit breaker
+ * @param circuitBreakerSlowCallThreshold the time in milliseconds after which a check is counted as failed
+ * @param circuitBreakerOpenTime the time in seconds the circuit breaker remains open
+ * @param ignoredOnPlace the names of protection plugins configured to be ignored on placement
+ * @param ignoredOnAccess the names of protection plugins configured to be ignored on access
+ */
+public record PluginSettings(boolean debug,
+                             boolean chestProtection,
+                             long chestProtectionTime,
+                             boolean killerLooting,
+                             boolean creativeDeploy,
+                             boolean creativeAccess,
+                             long expireTime,
+                             boolean requireChest,
+                             boolean consumeRequiredChest,
+                             boolean quickLoot,
+                             boolean preventItemPlacement,
+                             boolean chestSigns,
+                             boolean logInventoryOnDeath,
+                             int chestDeploymentDelay,
+                             SearchType searchType,
+                             int searchDistance,
+                             boolean placeAboveVoid,
+                             boolean lazyChestLoading,
+                             int expireTickBudget,
+                             int pendingChunkLoadsPerSecond,
+                             long accessCheckCacheTtl,
+                             boolean circuitBreakerEnabled,
+                             int circuitBreakerFailureThreshold,
+                             long circuitBreakerSlowCallThreshold,
+                             long circuitBreakerOpenTime,
+                             Set<String> ignoredOnPlace,
+                             Set<String> ignoredOnAccess)
+{
+	/**
+	 * Compact constructor, makes defensive copies of collection components
+	 */
+	public PluginSettings
+	{
+		ignoredOnPlace = Set.copyOf(ignoredOnPlace);
+		ignoredOnAccess = Set.copyOf(ignoredOnAccess);
+	}
+
+
+	/**
+	 * Create a settings snapshot from a configuration
+	 *
+	 * @param config the configuration to read
+	 * @return PluginSettings - the settings snapshot
+	 */
+	public static PluginSettings of(final Configuration config)
+	{
+		// get names of protection plugins configured to be ignored on placement or access
+		final Set<String> ignoredOnPlace = new HashSet<>();
+		final Set<String> ignoredOnAccess = new HashSet<>();
+		final ConfigurationSection protectionPlugins = config.getConfigurationSection("protection-plugins");
+		if (protectionPlugins != null)
+		{
+			for (String pluginName : protectionPlugins.getKeys(false))
+			{
+				if (protectionPlugins.getBoolean(pluginName + ".ignore-on-place"))
+				{
+					ignoredOnPlace.add(pluginName);
+				}
+				if (protectionPlugins.getBoolean(pluginName + ".ignore-on-access"))
+				{
+					ignoredOnAccess.add(pluginName);
+				}
+			}
+		}
+
+		return new PluginSettings(
+				config.getBoolean("debug"),
+				config.getBoolean("chest-protection"),
+				config.getLong("chest-protection-time"),
+				config.getBoolean("killer-looting"),
+				config.getBoolean("creative-deploy"),
+				config.getBoolean("creative-access"),
+				config.getLong("expire-time"),
+				config.getBoolean("require-chest"),
+				config.getBoolean("consume-required-chest"),
+				config.getBoolean("quick-loot"),
+				config.getBoolean("prevent-item-placement"),
+				config.getBoolean("chest-signs"),
+				config.getBoolean("log-inventory-on-death"),
+				config.getInt("chest-deployment-delay"),
+				SearchType.match(config.getString("search-type")),
+				config.getInt("search-distance"),
+				config.getBoolean("place-above-void"),
+				config.getBoolean("lazy-chest-loading"),
+				Math.max(1, config.getInt("expire-tick-budget", 5)),
+				config.getInt("pending-chunk-loads-per-second", 1),
+				config.getLong("access-check-cache-ttl"),
+				config.getBoolean("protection-plugin-circuit-breaker.enabled"),
+				Math.max(1, config.getInt("protection-plugin-circuit-breaker.failure-threshold", 5)),
+				config.getLong("protection-plugin-circuit-breaker.slow-call-threshold"),
+				config.getLong("protection-plugin-circuit-breaker.open-time", 60),
+				ignoredOnPlace,
+				ignoredOnAccess);
+	}
+
+}
@@ -18,18 +18,34 @@
 package com.winterhavenmc.deathchest.chests;
 
 import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.block.Block;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 
 
+/**
+ * An index of chest blocks by block position, by chunk and by chest UUID.<br>
+ * Block positions are indexed per world by a packed long of the block coordinates, so lookups by block
+ * do not allocate a Location. Chunks are indexed per world by packed chunk key, so a block in a chunk
+ * with no chest blocks can be rejected without a position lookup. The position and chunk indexes
+ * are only accessed from the server thread. The blocks of each chest are held in a fixed array with
+ * one slot per ChestBlockType, indexed by ordinal.
+ */
 final class BlockIndex
 {
-	// map of ChestBlocks indexed by location
-	private final Map<Location, ChestBlock> locationMap;
+	// map of world uid to ChestBlocks indexed by packed block coordinates
+	private final Map<UUID, LongHashMap<ChestBlock>> worldMap;
+
+	// map of world uid to arrays of ChestBlocks indexed by packed chunk key
+	private final Map<UUID, LongHashMap<ChestBlock[]>> chunkMap;
 
-	// nested map of ChestBlocks indexed by ChestUUID, ChestBlockType
-	private final Map<UUID, EnumMap<ChestBlockType, ChestBlock>> uuidMap;
+	// map of ChestUUID to array of ChestBlocks indexed by ChestBlockType ordinal
+	private final Map<UUID, ChestBlock[]> uuidMap;
+
+	// ChestBlockType values, by ordinal
+	private static final ChestBlockType[] CHEST_BLOCK_TYPES = ChestBlockType.values();
 
 
 	/**
@@ -37,8 +53,11 @@ final class BlockIndex
 	 */
 	BlockIndex()
 	{
-		// initialize location map
-		locationMap = new ConcurrentHashMap<>();
+		// initialize world map
+		worldMap = new HashMap<>();
+
+		// initialize chunk map
+		chunkMap = new HashMap<>();
 
 		// initialize uuid map
 		uuidMap = new ConcurrentHashMap<>();
@@ -53,23 +72,38 @@ final class BlockIndex
 	 */
 	void put(final ChestBlockType chestBlockType, final ChestBlock chestBlock)
 	{
-		// if passed key or value is null, do nothing and return
-		if (chestBlockType == null || chestBlock == null)
+		// if passed key or value is null, or chest block has no world, do nothing and return
+		if (chestBlockType == null || chestBlock == null || chestBlock.getWorldUid() == null)
 		{
 			return;
 		}
 
-		// add chestBlock to locationMap
-		this.locationMap.put(chestBlock.getLocation(), chestBlock);
+		// add chestBlock to position map for world
+		this.worldMap.computeIfAbsent(chestBlock.getWorldUid(), k -> new LongHashMap<>())
+				.put(getBlockKey(chestBlock), chestBlock);
 
-		// if chestUUID key does not exist in map, add entry with chestUUID key and empty map as value
-		if (!uuidMap.containsKey(chestBlock.getChestUid()))
-		{
-			uuidMap.put(chestBlock.getChestUid(), new EnumMap<>(ChestBlockType.class));
-		}
+		// add chestBlock to chunk bucket for world, replacing any block already in bucket at the same position
+		final LongHashMap<ChestBlock[]> chunkBuckets = this.chunkMap.computeIfAbsent(chestBlock.getWorldUid(), k -> new LongHashMap<>());
+		final ChestBlock[] bucket = chunkBuckets.get(chestBlock.getChunkKey());
+		chunkBuckets.put(chestBlock.getChunkKey(), (bucket == null)
+				? new ChestBlock[] { chestBlock }
+				: appendToBucket(bucket, chestBlock));
 
 		// add new entry to map with chestUUID as key
-		uuidMap.get(chestBlock.getChestUid()).put(chestBlockType, chestBlock);
+		uuidMap.computeIfAbsent(chestBlock.getChestUid(), k -> new ChestBlock[CHEST_BLOCK_TYPES.length])
+				[chestBlockType.ordinal()] = chestBlock;
+	}
+
+
+	/**
+	 * Get ChestBlock object by block
+	 *
+	 * @param block the block to retrieve ChestBlock object
+	 * @return ChestBlock object, or null if no ChestBlock exists in map with passed block position
+	 */
+	ChestBlock get(final Block block)
+	{
+		return get(block.getWorld(), block.getX(), block.getY(), block.getZ());
 	}
 
 
@@ -81,7 +115,32 @@ final class BlockIndex
 	 */
 	ChestBlock get(final Location location)
 	{
-		return this.locationMap.get(location);
+		return get(location.getWorld(), location.getBlockX(), location.getBlockY(), location.getBlockZ());
+	}
+
+
+	/**
+	 * Get ChestBlock object by block coordinates
+	 *
+	 * @param world the world of the block
+	 * @param x the block x coordinate
+	 * @param y the block y coordinate
+	 * @param z the block z coordinate
+	 * @return ChestBlock object, or null if no ChestBlock exists in map at the passed coordinates
+	 */
+	private ChestBlock get(final World world, final int x, final int y, final int z)
+	{
+		// check for null world
+		if (world == null)
+		{
+			return null;
+		}
+
+		final LongHashMap<ChestBlock> positionMap = this.worldMap.get(world.getUID());
+
+		return (positionMap != null)
+				? positionMap.get(LocationUtilities.getBlockKey(x, y, z))
+				: null;
 	}
 
 
@@ -96,10 +155,17 @@ final class BlockIndex
 		// create empty Set for return
 		Set<ChestBlock> returnSet = new HashSet<>();
 
-		// if chestUid key exists in map, add map values to returnSet
-		if (chestUid != null && uuidMap.containsKey(chestUid))
+		// if chestUid key exists in map, add occupied slots to returnSet
+		final ChestBlock[] slots = (chestUid != null) ? uuidMap.get(chestUid) : null;
+		if (slots != null)
 		{
-			returnSet.addAll((uuidMap.get(chestUid)).values());
+			for (ChestBlock chestBlock : slots)
+			{
+				if (chestBlock != null)
+				{
+					returnSet.add(chestBlock);
+				}
+			}
 		}
 		return returnSet;
 	}
@@ -116,10 +182,17 @@ final class BlockIndex
 		// create empty map for return
 		Map<ChestBlockType, ChestBlock> returnMap = new EnumMap<>(ChestBlockType.class);
 
-		// if chestUUID exists in map, add values to returnMap
-		if (chestUid != null && this.uuidMap.containsKey(chestUid))
+		// if chestUUID exists in map, add occupied slots to returnMap
+		final ChestBlock[] slots = (chestUid != null) ? this.uuidMap.get(chestUid) : null;
+		if (slots != null)
 		{
-			returnMap.putAll(this.uuidMap.get(chestUid));
+			for (int i = 0; i < slots.length; i++)
+			{
+				if (slots[i] != null)
+				{
+					returnMap.put(CHEST_BLOCK_TYPES[i], slots[i]);
+				}
+			}
 		}
 		return returnMap;
 	}
@@ -133,53 +206,100 @@ final class BlockIndex
 	void remove(final ChestBlock chestBlock)
 	{
 		// check for null key
-		if (chestBlock == null)
+		if (chestBlock == null || chestBlock.getWorldUid() == null)
 		{
 			return;
 		}
 
-		// get chest location
-		Location location = chestBlock.getLocation();
+		final long blockKey = getBlockKey(chestBlock);
 
-		if (location == null)
+		// remove chest block from position map
+		final LongHashMap<ChestBlock> positionMap = this.worldMap.get(chestBlock.getWorldUid());
+		if (positionMap != null)
 		{
-			return;
+			positionMap.remove(blockKey);
+			if (positionMap.isEmpty())
+			{
+				this.worldMap.remove(chestBlock.getWorldUid());
+			}
 		}
 
-		// remove chest block from location map
-		this.locationMap.remove(location);
+		// remove chest block from chunk bucket
+		final LongHashMap<ChestBlock[]> chunkBuckets = this.chunkMap.get(chestBlock.getWorldUid());
+		if (chunkBuckets != null)
+		{
+			final ChestBlock[] bucket = chunkBuckets.get(chestBlock.getChunkKey());
+			if (bucket != null)
+			{
+				final ChestBlock[] remaining = removeFromBucket(bucket, blockKey);
+				if (remaining.length == 0)
+				{
+					chunkBuckets.remove(chestBlock.getChunkKey());
+					if (chunkBuckets.isEmpty())
+					{
+						this.chunkMap.remove(chestBlock.getWorldUid());
+					}
+				}
+				else
+				{
+					chunkBuckets.put(chestBlock.getChunkKey(), remaining);
+				}
+			}
+		}
 
 		// get chest UUID
-		UUID chestUid = chestBlock.getChestUid();
+		final UUID chestUid = chestBlock.getChestUid();
 
 		// if passed chest block UUID is not null, remove chest block from uuid map
 		if (chestUid != null)
 		{
-			// iterate over inner map
-			for (ChestBlockType chestBlockType : this.uuidMap.get(chestUid).keySet())
+			final ChestBlock[] slots = this.uuidMap.get(chestUid);
+
+			if (slots == null)
 			{
-				// get chest block location
-				Location chestBlockLocation = this.uuidMap.get(chestUid).get(chestBlockType).getLocation();
+				return;
+			}
 
-				// check for null location
-				if (chestBlockLocation == null)
+			// clear slots of chest blocks at the same position as passed chest block
+			boolean empty = true;
+			for (int i = 0; i < slots.length; i++)
+			{
+				final ChestBlock mapped = slots[i];
+				if (mapped != null && chestBlock.getWorldUid().equals(mapped.getWorldUid())
+						&& getBlockKey(mapped) == blockKey)
 				{
-					return;
+					slots[i] = null;
 				}
-
-				// if passed chest block location equals mapped chest block location, remove block from inner map
-				if (chestBlockLocation.equals(location))
+				else if (mapped != null)
 				{
-					this.uuidMap.get(chestUid).remove(chestBlockType);
-
-					// if inner map is now empty, remove from outer map
-					if (this.uuidMap.get(chestUid).isEmpty())
-					{
-						this.uuidMap.remove(chestUid);
-					}
+					empty = false;
 				}
 			}
+
+			// if all slots are now empty, remove from map
+			if (empty)
+			{
+				this.uuidMap.remove(chestUid);
+			}
+		}
+	}
+
+
+	/**
+	 * Check for block position in map
+	 *
+	 * @param block the block to check
+	 * @return {@code true} if block position exists in map, {@code false} if it does not
+	 */
+	boolean containsKey(final Block block)
+	{
+		// check for null block
+		if (block == null)
+		{
+			return false;
 		}
+
+		return get(block) != null;
 	}
 
 
@@ -197,7 +317,71 @@ final class BlockIndex
 			return false;
 		}
 
-		return locationMap.containsKey(location);
+		return get(location) != null;
+	}
+
+
+	/**
+	 * Check if a world has any chest blocks
+	 *
+	 * @param world the world to check
+	 * @return {@code true} if the world contains chest blocks, {@code false} if it does not
+	 */
+	boolean hasBlocksInWorld(final World world)
+	{
+		return world != null && this.chunkMap.containsKey(world.getUID());
+	}
+
+
+	/**
+	 * Check if a chunk has any chest blocks
+	 *
+	 * @param world the world of the chunk
+	 * @param chunkKey the packed chunk key
+	 * @return {@code true} if the chunk contains chest blocks, {@code false} if it does not
+	 */
+	boolean hasBlocksInChunk(final World world, final long chunkKey)
+	{
+		if (world == null)
+		{
+			return false;
+		}
+
+		final LongHashMap<ChestBlock[]> chunkBuckets = this.chunkMap.get(world.getUID());
+
+		return chunkBuckets != null && chunkBuckets.containsKey(chunkKey);
+	}
+
+
+	private static ChestBlock[] appendToBucket(final ChestBlock[] bucket, final ChestBlock chestBlock)
+	{
+		final ChestBlock[] remaining = removeFromBucket(bucket, getBlockKey(chestBlock));
+		final ChestBlock[] result = Arrays.copyOf(remaining, remaining.length + 1);
+		result[remaining.length] = chestBlock;
+		return result;
+	}
+
+
+	private static ChestBlock[] removeFromBucket(final ChestBlock[] bucket, final long blockKey)
+	{
+		int count = 0;
+		final ChestBlock[] result = new ChestBlock[bucket.length];
+
+		for (ChestBlock chestBlock : bucket)
+		{
+			if (getBlockKey(chestBlock) != blockKey)
+			{
+				result[count++] = chestBlock;
+			}
+		}
+
+		return (count == bucket.length) ? bucket : Arrays.copyOf(result, count);
+	}
+
+
+	private static long getBlockKey(final ChestBlock chestBlock)
+	{
+		return LocationUtilities.getBlockKey(chestBlock.getX(), chestBlock.getY(), chestBlock.getZ());
 	}
 
 }
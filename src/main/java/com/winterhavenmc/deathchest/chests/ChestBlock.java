@@ -40,24 +40,25 @@ import java.util.*;
 
 /**
  * A class that represents a single block that is a component of a death chest.
- * Block may be a left chest, a right chest, or an attached sign
+ * Block may be a left chest, a right chest, or an attached sign.
+ * <p>
+ * Many thousands of chest blocks may be indexed, so instances hold only the chest UUID, an interned world id
+ * and block coordinates.
  */
 public final class ChestBlock
 {
-	// reference to main class
-	private final PluginMain plugin = JavaPlugin.getPlugin(PluginMain.class);
+	// reference to main class, shared by all chest blocks
+	private static final PluginMain plugin = JavaPlugin.getPlugin(PluginMain.class);
 
 	// chest UUID
 	private final UUID chestUUID;
 
-	private final String worldName;
-	private final UUID worldUid;
+	// interned world uid and name
+	private final WorldId world;
 
 	private final int x;
 	private final int y;
 	private final int z;
-	private final float yaw;
-	private final float pitch;
 
 
 	/**
@@ -71,24 +72,10 @@ public final class ChestBlock
 		// set ChestUUID for this ChestBlock
 		this.chestUUID = chestUUID;
 
-		World world = location.getWorld();
-
-		if (world == null)
-		{
-			this.worldName = "unknown";
-			this.worldUid = null;
-		}
-		else
-		{
-			this.worldName = world.getName();
-			this.worldUid = world.getUID();
-		}
-
+		this.world = WorldId.of(location.getWorld());
 		this.x = location.getBlockX();
 		this.y = location.getBlockY();
 		this.z = location.getBlockZ();
-		this.yaw = location.getYaw();
-		this.pitch = location.getPitch();
 	}
 
 
@@ -101,39 +88,27 @@ public final class ChestBlock
 	 * @param x int the x block location for this chest location
 	 * @param y int the y block location for this chest location
 	 * @param z int the z block location for this chest location
-	 * @param yaw float the yaw for this chest location
-	 * @param pitch float the pitch for this chest location
 	 */
 	public ChestBlock(final UUID chestUUID,
 	                  final String worldName,
 	                  final UUID worldUid,
 	                  final int x,
 	                  final int y,
-	                  final int z,
-	                  final float yaw,
-	                  final float pitch)
+	                  final int z)
 	{
 		// set ChestUUID for this ChestBlock
 		this.chestUUID = chestUUID;
 
-		World world = plugin.getServer().getWorld(worldUid);
+		World world = (worldUid != null) ? plugin.getServer().getWorld(worldUid) : null;
 
-		// if world is invalid, set name unknown
-		if (world == null)
-		{
-			this.worldName = worldName;
-		}
-		else
-		{
-			this.worldName = world.getName();
-		}
+		// if world is not loaded, use passed world name
+		this.world = (world != null)
+				? WorldId.of(world)
+				: WorldId.of(worldUid, worldName);
 
-		this.worldUid = worldUid;
 		this.x = x;
 		this.y = y;
 		this.z = z;
-		this.yaw = yaw;
-		this.pitch = pitch;
 	}
 
 
@@ -144,7 +119,7 @@ public final class ChestBlock
 	 */
 	public Location getLocation()
 	{
-		World world = plugin.getServer().getWorld(this.worldUid);
+		World world = this.getWorld();
 
 		if (world == null)
 		{
@@ -152,12 +127,34 @@ public final class ChestBlock
 		}
 
 		// return new location object
-		return new Location(world,
-				this.x,
-				this.y,
-				this.z,
-				this.yaw,
-				this.pitch);
+		return new Location(world, this.x, this.y, this.z);
+	}
+
+
+	/**
+	 * Getter method for chest block world. The world is resolved once and cached in the interned world id,
+	 * until the world is loaded or unloaded.
+	 *
+	 * @return World - the world of this chest block, or null if the world is not loaded
+	 */
+	public World getWorld()
+	{
+		return this.world.getWorld();
+	}
+
+
+	/**
+	 * Getter method for chest block in game block, without creating a location
+	 *
+	 * @return Block - the in game block of this chest block, or null if the world is not loaded
+	 */
+	public Block getBlock()
+	{
+		World world = this.getWorld();
+
+		return (world != null)
+				? world.getBlockAt(this.x, this.y, this.z)
+				: null;
 	}
 
 
@@ -168,12 +165,12 @@ public final class ChestBlock
 	 */
 	public String getWorldName()
 	{
-		return this.worldName;
+		return this.world.name();
 	}
 
 	public UUID getWorldUid()
 	{
-		return this.worldUid;
+		return this.world.uid();
 	}
 
 	public int getX()
@@ -191,6 +188,17 @@ public final class ChestBlock
 		return this.z;
 	}
 
+	/**
+	 * Getter method for chest block chunk key
+	 *
+	 * @return long - the packed key of the chunk that contains this chest block
+	 */
+	public long getChunkKey()
+	{
+		return LocationUtilities.getBlockChunkKey(x, z);
+	}
+
+
 	/**
 	 * Getter method for chest block chestUUID
 	 *
@@ -210,15 +218,15 @@ public final class ChestBlock
 	 */
 	private Block getAttachedBlock()
 	{
-		// if DeathChestBlock location is null, return null
-		if (this.getLocation() == null)
+		// get block represented by this DeathChestBlock
+		final Block block = this.getBlock();
+
+		// if chest block world or chunk is not loaded, return null
+		if (block == null || !isChunkLoaded(block))
 		{
 			return null;
 		}
 
-		// get block represented by this DeathChestBlock
-		final Block block = this.getLocation().getBlock();
-
 		// if block is not a DeathSign, return null
 		if (!plugin.chestManager.isChestBlockSign(block))
 		{
@@ -254,29 +262,32 @@ public final class ChestBlock
 	 *
 	 * @return Inventory - the inventory of this ChestBlock;
 	 * if ChestBlock is a sign, return inventory of attached ChestBlock;
-	 * returns null if this ChestBlock (or attached block) is not a chest
+	 * returns null if this ChestBlock (or attached block) is not a chest, or its chunk is not loaded
 	 */
 	Inventory getInventory()
 	{
-		// if this ChestBlock location is null, return null
-		if (this.getLocation() == null)
+		// get block represented by this ChestBlock
+		final Block block = this.getBlock();
+
+		// if chest block world or chunk is not loaded, return null
+		if (block == null || !isChunkLoaded(block))
 		{
 			return null;
 		}
 
 		// get the block state of block represented by this ChestBlock
-		BlockState blockState = this.getLocation().getBlock().getState();
+		BlockState blockState = block.getState();
 
 		// if block is a sign or wall sign, get attached block
 		if (blockState.getType().equals(Material.OAK_SIGN) || blockState.getType().equals((Material.OAK_WALL_SIGN)))
 		{
 			// get attached block
-			Block block = this.getAttachedBlock();
+			final Block attachedBlock = this.getAttachedBlock();
 
 			// if attached block returned null, do nothing and return
-			if (block != null)
+			if (attachedBlock != null)
 			{
-				blockState = this.getAttachedBlock().getState();
+				blockState = attachedBlock.getState();
 			}
 			else
 			{
@@ -310,15 +321,15 @@ public final class ChestBlock
 			return remainingItems;
 		}
 
-		// if DeathBlock location is null, return empty list
-		if (this.getLocation() == null)
+		// get in game block at deathBlock location
+		final Block block = this.getBlock();
+
+		// if chest block world is not loaded, return empty list
+		if (block == null)
 		{
 			return remainingItems;
 		}
 
-		// get in game block at deathBlock location
-		Block block = this.getLocation().getBlock();
-
 		// confirm block is still death chest block
 		if (plugin.chestManager.isChestBlockChest(block))
 		{
@@ -365,15 +376,15 @@ public final class ChestBlock
 			return;
 		}
 
-		// if DeathBlock location is null, do nothing and return
-		if (this.getLocation() == null)
+		// get in game block at chest block location
+		final Block block = this.getBlock();
+
+		// if chest block world is not loaded, do nothing and return
+		if (block == null)
 		{
 			return;
 		}
 
-		// get in game block at chest block location
-		Block block = this.getLocation().getBlock();
-
 		// if block is not death chest material, do nothing and return
 		if (!ChestManager.deathChestMaterials.contains(block.getType()))
 		{
@@ -402,15 +413,15 @@ public final class ChestBlock
 	 */
 	private void removeMetadata()
 	{
-		// if ChestBlock location is null, do nothing and return
-		if (this.getLocation() == null)
+		// get in game block at this chestBlock location
+		final Block block = this.getBlock();
+
+		// if chest block world is not loaded, do nothing and return
+		if (block == null)
 		{
 			return;
 		}
 
-		// get in game block at this chestBlock location
-		Block block = this.getLocation().getBlock();
-
 		block.removeMetadata("deathchest-uuid", plugin);
 		block.removeMetadata("deathchest-owner", plugin);
 		block.removeMetadata("deathchest-killer", plugin);
@@ -423,19 +434,13 @@ public final class ChestBlock
 	 */
 	void destroy()
 	{
-		// if ChestBlock location is null, do nothing and return
-		if (this.getLocation() == null)
-		{
-			return;
-		}
-
 		// get in game block at this chestBlock location
-		Block block = this.getLocation().getBlock();
+		final Block block = this.getBlock();
 
-		// load chunk if necessary
-		if (!block.getChunk().isLoaded())
+		// if chest block world or chunk is not loaded, do nothing and return
+		if (block == null || !isChunkLoaded(block))
 		{
-			block.getChunk().load();
+			return;
 		}
 
 		// remove metadata from block
@@ -452,4 +457,16 @@ public final class ChestBlock
 		block.setType(Material.AIR);
 	}
 
+
+	/**
+	 * Check if the chunk containing a block is loaded, without loading it
+	 *
+	 * @param block the block
+	 * @return {@code true} if the chunk containing the block is loaded, {@code false} if not
+	 */
+	private static boolean isChunkLoaded(final Block block)
+	{
+		return block.getWorld().isChunkLoaded(block.getX() >> 4, block.getZ() >> 4);
+	}
+
 }
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2022 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.deathchest.chests;
+
+import org.bukkit.Chunk;
+
+import java.util.UUID;
+
+
+/**
+ * A record that identifies a chunk that contains death chest blocks
+ *
+ * @param worldUid the UUID of the world that contains the chunk
+ * @param chunkKey the packed chunk key, as returned by {@link LocationUtilities#getChunkKey(int, int)}
+ */
+public record ChestChunk(UUID worldUid, long chunkKey)
+{
+	/**
+	 * Create a chest chunk record for an in game chunk
+	 *
+	 * @param chunk the chunk
+	 * @return the chest chunk record
+	 */
+	public static ChestChunk of(final Chunk chunk)
+	{
+		return new ChestChunk(chunk.getWorld().getUID(), LocationUtilities.getChunkKey(chunk.getX(), chunk.getZ()));
+	}
+
+
+	/**
+	 * Get the chunk x coordinate
+	 *
+	 * @return the chunk x coordinate, unpacked from the chunk key
+	 */
+	public int chunkX()
+	{
+		return (int) (chunkKey >> 32);
+	}
+
+
+	/**
+	 * Get the chunk z coordinate
+	 *
+	 * @return the chunk z coordinate, unpacked from the chunk key
+	 */
+	public int chunkZ()
+	{
+		return (int) chunkKey;
+	}
+}
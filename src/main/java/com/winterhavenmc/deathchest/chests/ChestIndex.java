@@ -17,22 +17,32 @@
 
 package com.winterhavenmc.deathchest.chests;
 
-import com.winterhavenmc.deathchest.PluginMain;
-import com.winterhavenmc.deathchest.tasks.ExpireChestTask;
-import org.bukkit.scheduler.BukkitTask;
-
-import java.time.Duration;
-import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 
 
+/**
+ * An index of death chests by chest UUID, with secondary indexes of chests by owner UUID and by owner name.
+ * Updates to all maps are made under a single lock; lookups do not lock.
+ */
 final class ChestIndex
 {
 	private final Map<UUID, DeathChestRecord> deathChestMap;
-	private final Map<UUID, Integer> expireMap;
+
+	// secondary index of owner UUID to the chests owned by that player
+	private final Map<UUID, Set<DeathChestRecord>> ownerMap;
+
+	// secondary index of lowercase owner name to the chests recorded with that owner name, sorted for prefix lookup
+	private final NavigableMap<String, Set<DeathChestRecord>> ownerNameMap;
 
 
 	/**
@@ -41,7 +51,8 @@ final class ChestIndex
 	ChestIndex()
 	{
 		deathChestMap = new ConcurrentHashMap<>();
-		expireMap = new ConcurrentHashMap<>();
+		ownerMap = new ConcurrentHashMap<>();
+		ownerNameMap = new ConcurrentSkipListMap<>();
 	}
 
 
@@ -62,18 +73,12 @@ final class ChestIndex
 	}
 
 
-	int getExpireTaskId(final DeathChestRecord deathChest)
-	{
-		return expireMap.get(deathChest.chestUid());
-	}
-
-
 	/**
 	 * Put DeathChest object in map
 	 *
 	 * @param deathChest the DeathChest object to put in map
 	 */
-	void put(final PluginMain plugin, final DeathChestRecord deathChest)
+	synchronized void put(final DeathChestRecord deathChest)
 	{
 		// check for null key
 		if (deathChest == null || deathChest.chestUid() == null)
@@ -81,8 +86,21 @@ final class ChestIndex
 			return;
 		}
 
-		this.deathChestMap.put(deathChest.chestUid(), deathChest);
-		this.expireMap.put(deathChest.chestUid(), createExpireTask(plugin, deathChest));
+		// put chest in map, and remove any record it replaces from owner index
+		final DeathChestRecord previous = this.deathChestMap.put(deathChest.chestUid(), deathChest);
+		removeOwnerEntry(previous);
+
+		// add chest to owner index
+		if (deathChest.ownerUid() != null)
+		{
+			this.ownerMap.computeIfAbsent(deathChest.ownerUid(), k -> ConcurrentHashMap.newKeySet()).add(deathChest);
+		}
+
+		// add chest to owner name index
+		if (deathChest.ownerName() != null)
+		{
+			this.ownerNameMap.computeIfAbsent(toKey(deathChest.ownerName()), k -> ConcurrentHashMap.newKeySet()).add(deathChest);
+		}
 	}
 
 
@@ -91,7 +109,7 @@ final class ChestIndex
 	 *
 	 * @param deathChest the DeathChest object to remove from map
 	 */
-	void remove(final DeathChestRecord deathChest)
+	synchronized void remove(final DeathChestRecord deathChest)
 	{
 		// check for null key
 		if (deathChest == null || deathChest.chestUid() == null)
@@ -99,7 +117,83 @@ final class ChestIndex
 			return;
 		}
 
-		this.deathChestMap.remove(deathChest.chestUid());
+		removeOwnerEntry(this.deathChestMap.remove(deathChest.chestUid()));
+	}
+
+
+	/**
+	 * Remove a chest from the owner indexes, and remove the owner if they have no remaining chests
+	 *
+	 * @param deathChest the chest to remove from the owner indexes, may be null
+	 */
+	private void removeOwnerEntry(final DeathChestRecord deathChest)
+	{
+		if (deathChest == null)
+		{
+			return;
+		}
+
+		if (deathChest.ownerUid() != null)
+		{
+			removeEntry(this.ownerMap, deathChest.ownerUid(), deathChest);
+		}
+
+		if (deathChest.ownerName() != null)
+		{
+			removeEntry(this.ownerNameMap, toKey(deathChest.ownerName()), deathChest);
+		}
+	}
+
+
+	/**
+	 * Remove a chest from a set in a secondary index, and remove the key if its set is empty
+	 *
+	 * @param index the secondary index
+	 * @param key the key of the set to remove the chest from
+	 * @param deathChest the chest to remove
+	 * @param <K> the type of the index key
+	 */
+	private static <K> void removeEntry(final Map<K, Set<DeathChestRecord>> index,
+	                                    final K key,
+	                                    final DeathChestRecord deathChest)
+	{
+		final Set<DeathChestRecord> chests = index.get(key);
+		if (chests != null)
+		{
+			chests.remove(deathChest);
+			if (chests.isEmpty())
+			{
+				index.remove(key);
+			}
+		}
+	}
+
+
+	/**
+	 * Get the owner name index key for an owner name
+	 *
+	 * @param ownerName the owner name
+	 * @return the lowercase owner name
+	 */
+	private static String toKey(final String ownerName)
+	{
+		return ownerName.toLowerCase(Locale.ROOT);
+	}
+
+
+	/**
+	 * Get the entries of the owner name index whose names begin with a prefix
+	 *
+	 * @param prefix the owner name prefix, case-insensitive
+	 * @return view of the owner name index entries that match the prefix
+	 */
+	private NavigableMap<String, Set<DeathChestRecord>> getOwnerNameRange(final String prefix)
+	{
+		final String key = toKey(prefix);
+
+		return (key.isEmpty())
+				? ownerNameMap
+				: ownerNameMap.subMap(key, true, key + Character.MAX_VALUE, true);
 	}
 
 
@@ -122,44 +216,113 @@ final class ChestIndex
 
 
 	/**
-	 * Get collection of all chests in map
+	 * Get set of all chest UUIDs in map
 	 *
-	 * @return Collection of DeathChests in map
+	 * @return Set of chest UUID keys in map
 	 */
-	Collection<DeathChestRecord> values()
+	Set<UUID> keySet()
 	{
-		return deathChestMap.values();
+		return deathChestMap.keySet();
 	}
 
 
-	public int createExpireTask(final PluginMain plugin, final DeathChestRecord deathChest)
+	/**
+	 * Get collection of chests owned by a player
+	 *
+	 * @param ownerUid the UUID of the chest owner
+	 * @return unmodifiable Collection of DeathChests owned by the player, or empty collection if none
+	 */
+	Collection<DeathChestRecord> getByOwner(final UUID ownerUid)
 	{
-		// create task to expire death chest after ticksRemaining
-		BukkitTask chestExpireTask = new ExpireChestTask(plugin.chestManager, deathChest)
-				.runTaskLater(plugin, ticksUntilExpires(deathChest));
+		// check for null ownerUid
+		if (ownerUid == null)
+		{
+			return Collections.emptySet();
+		}
 
-		// return taskId
-		return chestExpireTask.getTaskId();
+		final Set<DeathChestRecord> ownerChests = ownerMap.get(ownerUid);
+
+		return (ownerChests != null)
+				? Collections.unmodifiableSet(ownerChests)
+				: Collections.emptySet();
+	}
+
+
+	/**
+	 * Get the number of chests owned by a player
+	 *
+	 * @param ownerUid the UUID of the chest owner
+	 * @return the number of chests owned by the player
+	 */
+	int countByOwner(final UUID ownerUid)
+	{
+		return getByOwner(ownerUid).size();
 	}
 
 
-	public long ticksUntilExpires(DeathChestRecord deathChest)
+	/**
+	 * Get list of chests whose owner name begins with a prefix
+	 *
+	 * @param prefix the owner name prefix, case-insensitive
+	 * @return List of DeathChests with owner names that match the prefix
+	 */
+	List<DeathChestRecord> getByOwnerNamePrefix(final String prefix)
 	{
-		// if DeathChestBlock expirationTime is zero or less, it is set to never expire
-		if (deathChest.expirationTime().isBefore(Instant.EPOCH))
+		final List<DeathChestRecord> returnList = new ArrayList<>();
+
+		// check for null prefix
+		if (prefix == null)
 		{
-			return -1;
+			return returnList;
 		}
 
-		// compute ticks remaining until expire time (millisecond interval divided by 50 yields ticks)
-		long ticksRemaining = Duration.between(Instant.now(), deathChest.expirationTime()).toMillis() / 50;
-		if (ticksRemaining < 1)
+		for (Set<DeathChestRecord> chests : getOwnerNameRange(prefix).values())
 		{
-			ticksRemaining = 1L;
+			returnList.addAll(chests);
 		}
 
-		return ticksRemaining;
+		return returnList;
 	}
 
 
+	/**
+	 * Get sorted list of owner names that begin with a prefix, as recorded in the owners' chests
+	 *
+	 * @param prefix the owner name prefix, case-insensitive
+	 * @return List of owner names that match the prefix
+	 */
+	List<String> getOwnerNames(final String prefix)
+	{
+		final List<String> returnList = new ArrayList<>();
+
+		// check for null prefix
+		if (prefix == null)
+		{
+			return returnList;
+		}
+
+		for (Set<DeathChestRecord> chests : getOwnerNameRange(prefix).values())
+		{
+			// use owner name from any one of the chests, to preserve its case
+			for (DeathChestRecord deathChest : chests)
+			{
+				returnList.add(deathChest.ownerName());
+				break;
+			}
+		}
+
+		return returnList;
+	}
+
+
+	/**
+	 * Get collection of all chests in map
+	 *
+	 * @return Collection of DeathChests in map
+	 */
+	Collection<DeathChestRecord> values()
+	{
+		return deathChestMap.values();
+	}
+
 }
@@ -24,22 +24,25 @@ import com.winterhavenmc.deathchest.messages.MessageId;
 import com.winterhavenmc.deathchest.sounds.SoundId;
 import com.winterhavenmc.deathchest.storage.DataStore;
 import com.winterhavenmc.deathchest.storage.DataStoreType;
+import com.winterhavenmc.deathchest.tasks.DeferredOperationTask;
+import com.winterhavenmc.deathchest.tasks.ExpireChestTask;
 
+import org.bukkit.Chunk;
 import org.bukkit.Location;
 import org.bukkit.Material;
+import org.bukkit.World;
 import org.bukkit.block.Block;
-import org.bukkit.block.BlockState;
 import org.bukkit.block.Chest;
 import org.bukkit.block.DoubleChest;
-import org.bukkit.block.data.type.Sign;
-import org.bukkit.block.data.type.WallSign;
 import org.bukkit.entity.Player;
 import org.bukkit.event.inventory.InventoryType;
 import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
 import org.bukkit.inventory.ItemStack;
 
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 
 
 /**
@@ -70,6 +73,21 @@ public final class ChestManager
 
 	private final DeploymentFactory deploymentFactory;
 
+	// deferred validation of chest blocks in unloaded chunks
+	private final LazyChestLoader lazyChestLoader;
+
+	// chests scheduled to expire, ordered by expiration time
+	private final ExpirationQueue expirationQueue;
+
+	// chest expirations waiting to be performed within the per tick time budget
+	private final ChestWorkQueue workQueue;
+
+	// expirations of chests in unloaded chunks
+	private final DeferredOperations deferredOperations;
+
+	// maximum number of due chests moved from the expiration queue to the work queue in a single tick
+	private static final int MAX_DUE_PER_TICK = 1024;
+
 
 	/**
 	 * Class constructor
@@ -94,6 +112,24 @@ public final class ChestManager
 		blockIndex = new BlockIndex();
 
 		deploymentFactory = new DeploymentFactory();
+
+		// initialize lazy chest loader
+		lazyChestLoader = new LazyChestLoader(plugin, this);
+
+		// initialize expiration queue
+		expirationQueue = new ExpirationQueue();
+
+		// initialize work queue
+		workQueue = new ChestWorkQueue(this);
+
+		// initialize deferred operations
+		deferredOperations = new DeferredOperations(plugin, this);
+
+		// start repeating task to expire due chests
+		new ExpireChestTask(this).runTaskTimer(plugin, 1L, 1L);
+
+		// start repeating task to load chunks of chests with deferred operations
+		new DeferredOperationTask(this).runTaskTimer(plugin, 20L, 20L);
 	}
 
 	public DeploymentFactory getDeploymentFactory()
@@ -108,7 +144,7 @@ public final class ChestManager
 	 */
 	public void loadChests()
 	{
-		if (plugin.getConfig().getBoolean("debug"))
+		if (plugin.getSettings().debug())
 		{
 			plugin.getLogger().info("Loading Death Chests...");
 		}
@@ -119,13 +155,26 @@ public final class ChestManager
 			this.putChest(deathChest);
 		}
 
+		// queue operations that were deferred before the last shutdown
+		deferredOperations.initialize(dataStore.selectPendingOperations());
+
+		// if lazy loading is enabled, defer chest block validation until chunks are loaded
+		if (plugin.getSettings().lazyChestLoading())
+		{
+			loadChestsLazy();
+			return;
+		}
+
 		// populate chest block map with all valid chest blocks retrieved from datastore
 		for (ChestBlock chestBlock : dataStore.selectAllBlockRecords())
 		{
-			// if chest block location is null, continue to next chest block
-			if (chestBlock.getLocation() == null)
+			// get in game block for chest block
+			final Block block = chestBlock.getBlock();
+
+			// if chest block world is not loaded, continue to next chest block
+			if (block == null)
 			{
-				if (plugin.getConfig().getBoolean("debug"))
+				if (plugin.getSettings().debug())
 				{
 					plugin.getLogger().info("chest block " + chestBlock.getChestUid() + " has null location.");
 				}
@@ -133,7 +182,7 @@ public final class ChestManager
 			}
 
 			// get chest block type from in game block
-			ChestBlockType chestBlockType = ChestBlockType.getType(chestBlock.getLocation().getBlock());
+			ChestBlockType chestBlockType = ChestBlockType.getType(block);
 
 			// if chest block type is null or parent chest not in chest map, delete block record
 			if (chestBlockType == null || !chestIndex.containsKey(chestBlock.getChestUid()))
@@ -153,19 +202,19 @@ public final class ChestManager
 			// if DeathChest has no children, remove from index and datastore
 			if (this.getBlocks(deathChest.chestUid()).isEmpty())
 			{
-				chestIndex.remove(deathChest);
+				this.removeChest(deathChest);
 				dataStore.deleteChestRecord(deathChest);
 			}
 			// if DeathChest is past expiration (not infinite, denoted by Instant.EPOCH), expire chest
 			else if (deathChest.expirationTime().isAfter(Instant.EPOCH) && deathChest.expirationTime().isBefore(Instant.now()))
 			{
-				plugin.chestManager.expire(deathChest);
+				this.queueExpire(deathChest);
 			}
 			else
 			{
 				// set chest metadata
 				this.setBlockMetadata(this.getBlocks(deathChest.chestUid()));
-				if (plugin.getConfig().getBoolean("debug")) {
+				if (plugin.getSettings().debug()) {
 					plugin.getLogger().info("[loadDeathChests] Setting metadata for chest " + deathChest.chestUid());
 				}
 			}
@@ -173,6 +222,85 @@ public final class ChestManager
 	}
 
 
+	/**
+	 * Load the chunks containing blocks of each chest, without reading any in game blocks.
+	 * Chest blocks are validated when their chunks load, and chests are expired once all of their chunks have loaded.
+	 */
+	private void loadChestsLazy()
+	{
+		final Map<UUID, Set<ChestChunk>> blockChunks = dataStore.selectBlockChunks();
+
+		// remove chests with no block records from index and datastore
+		for (DeathChestRecord deathChest : chestIndex.values())
+		{
+			if (!blockChunks.containsKey(deathChest.chestUid()))
+			{
+				this.removeChest(deathChest);
+				dataStore.deleteChestRecord(deathChest);
+			}
+		}
+
+		blockChunks.keySet().retainAll(chestIndex.keySet());
+		lazyChestLoader.initialize(blockChunks);
+
+		// validate chest blocks in chunks that are already loaded
+		for (World world : plugin.getServer().getWorlds())
+		{
+			for (Chunk chunk : world.getLoadedChunks())
+			{
+				lazyChestLoader.loadChunk(chunk);
+			}
+		}
+	}
+
+
+	/**
+	 * Validate death chest blocks in a chunk that has been loaded, if lazy chest loading deferred them
+	 *
+	 * @param chunk the chunk that was loaded
+	 */
+	public void loadChunk(final Chunk chunk)
+	{
+		lazyChestLoader.loadChunk(chunk);
+		deferredOperations.loadChunk(chunk);
+	}
+
+
+	/**
+	 * Get the chunks containing blocks of a chest that have not been resolved by lazy chest loading
+	 *
+	 * @param chestUid the uid of the chest
+	 * @return Set of chunks, or empty set if the chest is resolved
+	 */
+	Set<ChestChunk> getUnresolvedChunks(final UUID chestUid)
+	{
+		return lazyChestLoader.getUnresolvedChunks(chestUid);
+	}
+
+
+	/**
+	 * Get the number of chunks with death chest blocks that are waiting to be loaded
+	 *
+	 * @return the number of pending chunks
+	 */
+	public int getPendingChunkCount()
+	{
+		return lazyChestLoader.getPendingChunkCount();
+	}
+
+
+	/**
+	 * Retrieve the block records in a chunk from the datastore
+	 *
+	 * @param chestChunk the chunk whose block records are retrieved
+	 * @return Collection of ChestBlock
+	 */
+	Collection<ChestBlock> selectBlockRecords(final ChestChunk chestChunk)
+	{
+		return dataStore.selectBlockRecords(chestChunk);
+	}
+
+
 	/**
 	 * Put DeathChest object in map
 	 *
@@ -180,7 +308,13 @@ public final class ChestManager
 	 */
 	public void putChest(final DeathChestRecord deathChest)
 	{
-		this.chestIndex.put(plugin, deathChest);
+		this.chestIndex.put(deathChest);
+
+		// schedule chest expiration
+		if (deathChest != null && deathChest.chestUid() != null)
+		{
+			this.expirationQueue.schedule(deathChest);
+		}
 	}
 
 
@@ -211,7 +345,7 @@ public final class ChestManager
 		}
 
 		// get chest block from index by location
-		ChestBlock chestBlock = this.blockIndex.get(block.getLocation());
+		ChestBlock chestBlock = this.blockIndex.get(block);
 
 		// return death chest referenced by uid in chest block
 		return (chestBlock != null)
@@ -222,22 +356,10 @@ public final class ChestManager
 
 	public DeathChestRecord getChest(final Inventory inventory)
 	{
-		// if inventory is not a death chest, do nothing and return
-		if (!plugin.chestManager.isDeathChestInventory(inventory))
-		{
-			return null;
-		}
+		// get inventory holder block (death chest), or null if inventory is not a death chest
+		final Block block = getDeathChestInventoryBlock(inventory);
 
-		// get inventory holder block (death chest)
-		Block block = null;
-
-		// if inventory is a chest, get chest block
-		if (inventory.getHolder() instanceof Chest chest)
-		{
-			block = chest.getBlock();
-		}
-
-		// return death chest for block (returns null if block is not valid chest block)
+		// return death chest for block (returns null if block is null)
 		return getChest(block);
 	}
 
@@ -250,6 +372,13 @@ public final class ChestManager
 	void removeChest(final DeathChestRecord deathChest)
 	{
 		this.chestIndex.remove(deathChest);
+
+		// cancel chest expiration and any deferred operation
+		if (deathChest != null)
+		{
+			this.expirationQueue.cancel(deathChest.chestUid());
+			this.deferredOperations.remove(deathChest.chestUid());
+		}
 	}
 
 
@@ -334,7 +463,78 @@ public final class ChestManager
 		}
 
 		// if passed block location is in chest block map return true, else return false
-		return this.blockIndex.containsKey(block.getLocation());
+		return this.blockIndex.containsKey(block);
+	}
+
+
+	/**
+	 * Test if a chunk contains any DeathChest blocks
+	 *
+	 * @param block a block in the chunk to test
+	 * @return {@code true} if the chunk containing the block has DeathChest blocks, {@code false} if not
+	 */
+	public boolean isChestChunk(final Block block)
+	{
+		// if passed block is null, return false
+		if (block == null)
+		{
+			return false;
+		}
+
+		return this.blockIndex.hasBlocksInChunk(block.getWorld(),
+				LocationUtilities.getBlockChunkKey(block.getX(), block.getZ()));
+	}
+
+
+	/**
+	 * Remove DeathChest blocks whose protection has not expired from a list of exploded blocks.
+	 * Blocks are first checked by chunk, so only blocks in the few chunks that contain
+	 * DeathChest blocks are looked up individually.
+	 *
+	 * @param blocks the list of blocks destroyed by an explosion
+	 */
+	public void removeProtectedBlocks(final List<Block> blocks)
+	{
+		// if list is empty or world has no chest blocks, do nothing and return
+		if (blocks.isEmpty() || !this.blockIndex.hasBlocksInWorld(blocks.getFirst().getWorld()))
+		{
+			return;
+		}
+
+		// chunk of previous block, since blocks in an explosion list are clustered by chunk
+		long lastChunkKey = 0;
+		boolean lastChunkOccupied = false;
+		boolean first = true;
+
+		Iterator<Block> iterator = blocks.iterator();
+		while (iterator.hasNext())
+		{
+			final Block block = iterator.next();
+			final long chunkKey = LocationUtilities.getBlockChunkKey(block.getX(), block.getZ());
+
+			if (first || chunkKey != lastChunkKey)
+			{
+				lastChunkKey = chunkKey;
+				lastChunkOccupied = this.blockIndex.hasBlocksInChunk(block.getWorld(), chunkKey);
+				first = false;
+			}
+
+			// if chunk has no chest blocks, continue to next block
+			if (!lastChunkOccupied)
+			{
+				continue;
+			}
+
+			// remove death chest block from blocks exploded list if protection has not expired
+			if (isChestBlock(block))
+			{
+				DeathChestRecord deathChest = getChest(block);
+				if (deathChest != null && !protectionExpired(deathChest))
+				{
+					iterator.remove();
+				}
+			}
+		}
 	}
 
 
@@ -353,7 +553,7 @@ public final class ChestManager
 		}
 
 		// if passed block is chest and is in block map, return true; else return false
-		return (block.getType().equals(Material.CHEST) && blockIndex.containsKey(block.getLocation()));
+		return (block.getType().equals(Material.CHEST) && blockIndex.containsKey(block));
 	}
 
 
@@ -372,13 +572,12 @@ public final class ChestManager
 			return false;
 		}
 
-		// get block state
-		BlockState blockState = block.getState();
+		// get block material without reading block state
+		final Material material = block.getType();
 
 		// if block is sign or wall sign and exists in block index, return true
-		return ((blockState instanceof WallSign
-				|| blockState instanceof Sign)
-				&& blockIndex.containsKey(block.getLocation()));
+		return ((material.equals(Material.OAK_SIGN) || material.equals(Material.OAK_WALL_SIGN))
+				&& blockIndex.containsKey(block));
 	}
 
 
@@ -390,46 +589,87 @@ public final class ChestManager
 	 */
 	public boolean isDeathChestInventory(final Inventory inventory)
 	{
-		// if passed inventory is null, return false
+		return getDeathChestInventoryBlock(inventory) != null;
+	}
+
+
+	/**
+	 * Get the DeathChest block that holds an inventory. Inventories that are not in a chunk
+	 * containing DeathChest blocks are rejected before the inventory holder is resolved.
+	 *
+	 * @param inventory The inventory whose holder block will be returned
+	 * @return the DeathChest chest block holding the inventory, or null if the inventory is not a DeathChest inventory
+	 */
+	private Block getDeathChestInventoryBlock(final Inventory inventory)
+	{
+		// if passed inventory is null, return null
 		if (inventory == null)
 		{
-			return false;
+			return null;
 		}
 
-		// if inventory type is not a chest inventory, return false
+		// if inventory type is not a chest inventory, return null
 		if (!inventory.getType().equals(InventoryType.CHEST))
 		{
-			return false;
+			return null;
 		}
 
-		// if inventory holder is null, return false
-		if (inventory.getHolder() == null)
+		// get inventory location without creating an inventory holder snapshot
+		final Location location = inventory.getLocation();
+
+		// if inventory is not in a chunk that contains DeathChest blocks, return null
+		if (location == null || !isChestInventoryChunk(location))
 		{
-			return false;
+			return null;
 		}
 
+		// get inventory holder
+		final InventoryHolder holder = inventory.getHolder();
+
 		// try to get inventory holder block
 		Block block;
 
-		if (inventory.getHolder() instanceof Chest)
+		if (holder instanceof Chest chest)
 		{
-			Chest chest;
-			chest = (Chest) inventory.getHolder();
 			block = chest.getBlock();
 		}
-		else if (inventory.getHolder() instanceof DoubleChest)
+		else if (holder instanceof DoubleChest doubleChest)
 		{
-			DoubleChest doubleChest;
-			doubleChest = (DoubleChest) inventory.getHolder();
 			block = doubleChest.getLocation().getBlock();
 		}
 		else
 		{
-			return false;
+			return null;
 		}
 
-		// if inventory holder block is a DeathChest return true, else return false
-		return this.isChestBlockChest(block);
+		// if inventory holder block is a DeathChest return block, else return null
+		return this.isChestBlockChest(block) ? block : null;
+	}
+
+
+	/**
+	 * Test if the chunk of an inventory location contains DeathChest blocks. A double chest inventory location is
+	 * the midpoint between its two halves, so the chunks of the blocks on both sides of the midpoint are checked.
+	 *
+	 * @param location the location of the inventory
+	 * @return {@code true} if a chunk containing the inventory has DeathChest blocks, {@code false} if not
+	 */
+	private boolean isChestInventoryChunk(final Location location)
+	{
+		final int x = location.getBlockX();
+		final int z = location.getBlockZ();
+
+		if (this.blockIndex.hasBlocksInChunk(location.getWorld(), LocationUtilities.getBlockChunkKey(x, z)))
+		{
+			return true;
+		}
+
+		// get block on far side of a fractional midpoint, which may be in the neighboring chunk
+		final int otherX = (location.getX() != x) ? x + 1 : x;
+		final int otherZ = (location.getZ() != z) ? z + 1 : z;
+
+		return (otherX >> 4 != x >> 4 || otherZ >> 4 != z >> 4)
+				&& this.blockIndex.hasBlocksInChunk(location.getWorld(), LocationUtilities.getBlockChunkKey(otherX, otherZ));
 	}
 
 
@@ -443,6 +683,54 @@ public final class ChestManager
 	}
 
 
+	/**
+	 * Get all death chests owned by a player
+	 *
+	 * @param ownerUid the UUID of the chest owner
+	 * @return Collection of DeathChest - all death chests in the chest index owned by the player
+	 */
+	public Collection<DeathChestRecord> getChestsByOwner(final UUID ownerUid)
+	{
+		return this.chestIndex.getByOwner(ownerUid);
+	}
+
+
+	/**
+	 * Get the number of death chests owned by a player
+	 *
+	 * @param ownerUid the UUID of the chest owner
+	 * @return the number of death chests in the chest index owned by the player
+	 */
+	public int getChestCount(final UUID ownerUid)
+	{
+		return this.chestIndex.countByOwner(ownerUid);
+	}
+
+
+	/**
+	 * Get all death chests whose owner name begins with a prefix
+	 *
+	 * @param prefix the owner name prefix, case-insensitive
+	 * @return List of DeathChest - all death chests in the chest index with a matching owner name
+	 */
+	public List<DeathChestRecord> getChestsByOwnerName(final String prefix)
+	{
+		return this.chestIndex.getByOwnerNamePrefix(prefix);
+	}
+
+
+	/**
+	 * Get the names of players that own death chests and begin with a prefix, taken from their chest records
+	 *
+	 * @param prefix the owner name prefix, case-insensitive
+	 * @return List of owner names
+	 */
+	public List<String> getChestOwnerNames(final String prefix)
+	{
+		return this.chestIndex.getOwnerNames(prefix);
+	}
+
+
 	public void insertChestRecords(final Collection<DeathChestRecord> deathChests)
 	{
 		dataStore.insertChestRecords(deathChests);
@@ -467,7 +755,6 @@ public final class ChestManager
 	}
 
 
-	@SuppressWarnings("unused")
 	public String getDataStoreType()
 	{
 		return dataStore.getType().toString();
@@ -487,6 +774,9 @@ public final class ChestManager
 		// if current datastore type does not match configured datastore type, create new datastore
 		if (!currentType.equals(newType))
 		{
+			// close current datastore, committing queued writes and stopping its writer thread and checkpoint task
+			dataStore.close();
+
 			// create new datastore
 			dataStore = DataStore.connect(plugin);
 		}
@@ -516,6 +806,12 @@ public final class ChestManager
 	}
 
 
+	public long getDataStoreWalSize()
+	{
+		return this.dataStore.getWalSize();
+	}
+
+
 	/**
 	 * Set chest metadata on all component blocks
 	 */
@@ -535,35 +831,137 @@ public final class ChestManager
 	 */
 	public boolean protectionExpired(DeathChestRecord chestRecord)
 	{
-		return plugin.getConfig().getBoolean("chest-protection")
-				&& plugin.getConfig().getInt("chest-protection-time") > 0
+		return plugin.getSettings().chestProtection()
+				&& plugin.getSettings().chestProtectionTime() > 0
 				&& chestRecord.protectionTime().isBefore(Instant.now());
 	}
 
 
 	/**
-	 * Getter method for DeathChest expireTaskId
+	 * Cancel scheduled expiration for this death chest
+	 */
+	public void cancelExpireTask(DeathChestRecord deathChest)
+	{
+		expirationQueue.cancel(deathChest.chestUid());
+	}
+
+
+	/**
+	 * Queue chests whose expiration time has passed, then perform queued expirations
+	 * until the configured per tick time budget is spent. Called by the expire chest task.
+	 */
+	public void expireDueChests()
+	{
+		for (UUID chestUid : expirationQueue.pollDue(System.currentTimeMillis(), MAX_DUE_PER_TICK))
+		{
+			workQueue.add(chestUid, ChestAction.EXPIRE);
+		}
+
+		workQueue.process(TimeUnit.MILLISECONDS.toNanos(plugin.getSettings().expireTickBudget()));
+	}
+
+
+	/**
+	 * Queue a death chest to be expired within the per tick time budget
 	 *
-	 * @return the value of the expireTaskId field in the DeathChest object
+	 * @param deathChest the chest to expire
 	 */
-	int getExpireTaskId(DeathChestRecord deathChest)
+	public void queueExpire(final DeathChestRecord deathChest)
 	{
-		return chestIndex.getExpireTaskId(deathChest);
+		workQueue.add(deathChest.chestUid(), ChestAction.EXPIRE);
 	}
 
 
 	/**
-	 * Cancel expire task for this death chest
+	 * Queue an action on a death chest to be performed within the per tick time budget
+	 *
+	 * @param chestUid the uid of the chest
+	 * @param action the action to perform
 	 */
-	public void cancelExpireTask(DeathChestRecord deathChest)
+	void queueAction(final UUID chestUid, final ChestAction action)
+	{
+		workQueue.add(chestUid, action);
+	}
+
+
+	/**
+	 * Defer an action on a death chest if any of its blocks are in unloaded chunks.
+	 * The action is persisted, and queued again when the chunks are loaded.
+	 *
+	 * @param deathChest the chest
+	 * @param action the action to perform
+	 * @return {@code true} if the action was deferred, {@code false} if it can be performed now
+	 */
+	boolean deferIfUnloaded(final DeathChestRecord deathChest, final ChestAction action)
+	{
+		return deferredOperations.deferIfUnloaded(deathChest, action);
+	}
+
+
+	/**
+	 * Load chunks of chests with deferred operations, up to the configured number of chunks per second.
+	 * Called once per second by the deferred operation task.
+	 */
+	public void drainDeferredOperations()
 	{
-		// if task id is positive integer, cancel task
-		if (getExpireTaskId(deathChest) > 0)
+		final int maxChunks = plugin.getSettings().pendingChunkLoadsPerSecond();
+
+		if (maxChunks > 0)
 		{
-			plugin.getServer().getScheduler().cancelTask(getExpireTaskId(deathChest));
+			deferredOperations.drain(maxChunks);
 		}
 	}
 
+
+	/**
+	 * Get the number of chest expirations deferred until their chunks are loaded
+	 *
+	 * @return the number of deferred operations
+	 */
+	public int getDeferredOperationCount()
+	{
+		return deferredOperations.size();
+	}
+
+
+	void insertPendingOperation(final UUID chestUid, final ChestAction action)
+	{
+		dataStore.insertPendingOperation(chestUid, action);
+	}
+
+
+	/**
+	 * Get the number of chest expirations waiting to be performed
+	 *
+	 * @return the work queue depth
+	 */
+	public int getPendingWorkCount()
+	{
+		return workQueue.size();
+	}
+
+
+	/**
+	 * Get the time the oldest queued chest expiration has been waiting
+	 *
+	 * @return the wait time in milliseconds, or zero if nothing is queued
+	 */
+	public long getPendingWorkLagMillis()
+	{
+		return workQueue.getLagMillis();
+	}
+
+
+	/**
+	 * Get the number of chests scheduled to expire
+	 *
+	 * @return the number of chests in the expiration queue
+	 */
+	public int getScheduledExpirationCount()
+	{
+		return expirationQueue.size();
+	}
+
 	public Inventory getInventory(final DeathChestRecord deathChest)
 	{
 		Map<ChestBlockType, ChestBlock> blockMap = getBlockMap(deathChest.chestUid());
@@ -624,6 +1022,12 @@ public final class ChestManager
 	 */
 	public void expire(final DeathChestRecord deathChest)
 	{
+		// if chest blocks are in chunks that have not loaded, chest will be expired when they are loaded
+		if (lazyChestLoader.isUnresolved(deathChest.chestUid()))
+		{
+			return;
+		}
+
 		// get player from ownerUUID
 		final Player player = plugin.getServer().getPlayer(deathChest.ownerUid());
 
@@ -641,10 +1045,17 @@ public final class ChestManager
 
 
 	/**
-	 * Destroy this death chest, dropping chest contents
+	 * Destroy this death chest, dropping chest contents.
+	 * If any chest block is in a chunk that is not loaded, the chest is destroyed when the chunk is loaded.
 	 */
 	public void destroy(final DeathChestRecord deathChest)
 	{
+		// if chest blocks are in chunks that are not loaded, destroy chest when they are loaded
+		if (deferIfUnloaded(deathChest, ChestAction.DESTROY))
+		{
+			return;
+		}
+
 		this.dropContents(deathChest);
 
 		// play chest break sound at chest location
@@ -662,13 +1073,7 @@ public final class ChestManager
 		// delete DeathChest record from datastore
 		this.deleteChestRecord(deathChest);
 
-		// cancel expire block task
-		if (this.getExpireTaskId(deathChest) > 0)
-		{
-			plugin.getServer().getScheduler().cancelTask(this.getExpireTaskId(deathChest));
-		}
-
-		// remove DeathChest from ChestManager DeathChest map
+		// remove DeathChest from ChestManager DeathChest map and cancel its expiration
 		plugin.chestManager.removeChest(deathChest);
 	}
 
@@ -687,9 +1092,17 @@ public final class ChestManager
 
 		if (location.getWorld() != null)
 		{
-			ItemStack[] contents = this.getInventory(deathChest).getStorageContents();
+			Inventory inventory = this.getInventory(deathChest);
+
+			// if chest inventory is not valid, there are no contents to drop
+			if (inventory == null)
+			{
+				return;
+			}
+
+			ItemStack[] contents = inventory.getStorageContents();
 
-			this.getInventory(deathChest).clear();
+			inventory.clear();
 
 			for (ItemStack stack : contents)
 			{
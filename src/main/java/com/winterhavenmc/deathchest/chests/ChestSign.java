@@ -38,7 +38,7 @@ public record ChestSign(PluginMain plugin, Player player, DeathChestRecord death
 	public void place()
 	{
 		// if chest-signs are not enabled in configuration, do nothing and return
-		if (!plugin.getConfig().getBoolean("chest-signs"))
+		if (!plugin.getSettings().chestSigns())
 		{
 			return;
 		}
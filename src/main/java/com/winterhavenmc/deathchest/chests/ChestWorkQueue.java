@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2022 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.deathchest.chests;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.UUID;
+
+
+/**
+ * A queue of pending chest expirations that is worked through cooperatively,
+ * spending no more than a fixed time budget per server tick. Actions on chests in unloaded chunks
+ * are deferred until the chunks are loaded. This class is only accessed from the server thread.
+ */
+final class ChestWorkQueue
+{
+	/**
+	 * A queued chest action
+	 *
+	 * @param chestUid the uid of the chest
+	 * @param action the action to perform
+	 * @param queuedNanos the value of {@code System.nanoTime()} when the action was queued
+	 */
+	private record WorkItem(UUID chestUid, ChestAction action, long queuedNanos) { }
+
+
+	// reference to chest manager
+	private final ChestManager chestManager;
+
+	// queued chest actions, in order
+	private final Deque<WorkItem> queue;
+
+
+	/**
+	 * Class constructor
+	 *
+	 * @param chestManager reference to chest manager
+	 */
+	ChestWorkQueue(final ChestManager chestManager)
+	{
+		this.chestManager = chestManager;
+		this.queue = new ArrayDeque<>();
+	}
+
+
+	/**
+	 * Queue an action on a chest
+	 *
+	 * @param chestUid the uid of the chest
+	 * @param action the action to perform
+	 */
+	void add(final UUID chestUid, final ChestAction action)
+	{
+		queue.add(new WorkItem(chestUid, action, System.nanoTime()));
+	}
+
+
+	/**
+	 * Perform queued actions until the queue is empty or the time budget is spent.
+	 * At least one action is performed on each call, so the queue always makes progress.
+	 *
+	 * @param budgetNanos the maximum time to spend, in nanoseconds
+	 * @return the number of actions performed
+	 */
+	int process(final long budgetNanos)
+	{
+		final long start = System.nanoTime();
+		int count = 0;
+
+		while (!queue.isEmpty() && (count == 0 || System.nanoTime() - start < budgetNanos))
+		{
+			final WorkItem item = queue.poll();
+			final DeathChestRecord deathChest = chestManager.getChest(item.chestUid());
+
+			// if chest was removed after being queued, or its chunks are not loaded, skip to next item
+			if (deathChest != null && !chestManager.deferIfUnloaded(deathChest, item.action()))
+			{
+				switch (item.action())
+				{
+					case EXPIRE -> chestManager.expire(deathChest);
+					case DESTROY -> chestManager.destroy(deathChest);
+				}
+			}
+			count++;
+		}
+
+		return count;
+	}
+
+
+	/**
+	 * Get the number of queued actions
+	 *
+	 * @return the queue depth
+	 */
+	int size()
+	{
+		return queue.size();
+	}
+
+
+	/**
+	 * Get the time the oldest queued action has been waiting
+	 *
+	 * @return the wait time of the oldest queued action in milliseconds, or zero if the queue is empty
+	 */
+	long getLagMillis()
+	{
+		final WorkItem head = queue.peek();
+
+		return (head != null)
+				? (System.nanoTime() - head.queuedNanos()) / 1_000_000
+				: 0;
+	}
+
+}
@@ -17,6 +17,7 @@
 
 package com.winterhavenmc.deathchest.chests;
 
+import com.winterhavenmc.deathchest.PluginMain;
 import com.winterhavenmc.library.messagebuilder.pipeline.adapters.expiration.Expirable;
 import com.winterhavenmc.library.messagebuilder.pipeline.adapters.location.Locatable;
 import com.winterhavenmc.library.messagebuilder.pipeline.adapters.looter.Lootable;
@@ -30,7 +31,6 @@ import org.bukkit.World;
 import org.bukkit.entity.AnimalTamer;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
-import org.bukkit.plugin.Plugin;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
@@ -86,7 +86,7 @@ public record DeathChestRecord(
 	 * @param plugin Instance of the plugin main class, used for retrieving configuration values
 	 * @param player Instance of a player, typically at the time of death when a new chest is deployed
 	 */
-	public DeathChestRecord(final Plugin plugin, final Player player, final Location location)
+	public DeathChestRecord(final PluginMain plugin, final Player player, final Location location)
 	{
 		this(UUID.randomUUID(),
 				(player != null) ? player.getUniqueId() : INVALID_UUID,
@@ -100,11 +100,11 @@ public record DeathChestRecord(
 				(location != null) ? location.getBlockZ() : 0,
 				0,
 				Instant.now(),
-				(plugin.getConfig().getLong("expire-time") > 0)
-						? Instant.now().plus(plugin.getConfig().getLong("expire-time"), ChronoUnit.MINUTES)
+				(plugin.getSettings().expireTime() > 0)
+						? Instant.now().plus(plugin.getSettings().expireTime(), ChronoUnit.MINUTES)
 						: Instant.EPOCH,
-				(plugin.getConfig().getLong("chest-protection-time") > 0)
-						? Instant.now().plus(plugin.getConfig().getLong("chest-protection-time"), ChronoUnit.MINUTES)
+				(plugin.getSettings().chestProtectionTime() > 0)
+						? Instant.now().plus(plugin.getSettings().chestProtectionTime(), ChronoUnit.MINUTES)
 						: Instant.EPOCH);
 	}
 
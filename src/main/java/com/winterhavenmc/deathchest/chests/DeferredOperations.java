@@ -0,0 +1,423 @@
+/*
+ * Copyright (c) 2022 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.deathchest.chests;
+
+import com.winterhavenmc.deathchest.PluginMain;
+import org.bukkit.Chunk;
+import org.bukkit.World;
+
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+
+/**
+ * A class that tracks expirations of death chests whose blocks are in unloaded chunks.
+ * Deferred operations are persisted in the datastore, and are queued for execution when all chunks
+ * containing the chest's blocks are loaded, either naturally or by a rate limited drain.
+ * The drain loads chunks asynchronously where the server supports it (Paper), and otherwise falls back to
+ * loading them synchronously with plugin chunk tickets.
+ * This class is only accessed from the server thread.
+ */
+final class DeferredOperations
+{
+	// Paper World.getChunkAtAsync(int, int) method, or null if the server does not support asynchronous chunk loading
+	private static final Method GET_CHUNK_AT_ASYNC = findGetChunkAtAsync();
+
+	// reference to main class
+	private final PluginMain plugin;
+
+	// reference to chest manager
+	private final ChestManager chestManager;
+
+	// map of chest uid to deferred action, in order of deferral
+	private final Map<UUID, ChestAction> operations;
+
+	// map of chest uid to the chunks containing its blocks
+	private final Map<UUID, Set<ChestChunk>> chestChunks;
+
+	// map of chunk to the chests with deferred operations that have blocks in the chunk
+	private final Map<ChestChunk, Set<UUID>> chunkIndex;
+
+	// map of chest uid to chunks held loaded by a plugin chunk ticket for its operation
+	private final Map<UUID, Collection<ChestChunk>> ticketedChunks;
+
+	// chunks with asynchronous loads in progress
+	private final Set<ChestChunk> requestedChunks;
+
+
+	/**
+	 * Class constructor
+	 *
+	 * @param plugin reference to main class
+	 * @param chestManager reference to chest manager
+	 */
+	DeferredOperations(final PluginMain plugin, final ChestManager chestManager)
+	{
+		this.plugin = plugin;
+		this.chestManager = chestManager;
+		this.operations = new LinkedHashMap<>();
+		this.chestChunks = new HashMap<>();
+		this.chunkIndex = new HashMap<>();
+		this.ticketedChunks = new HashMap<>();
+		this.requestedChunks = new HashSet<>();
+	}
+
+
+	/**
+	 * Defer an operation on a chest if any chunk containing its blocks is not loaded
+	 *
+	 * @param deathChest the chest
+	 * @param action the action to perform on the chest
+	 * @return {@code true} if the operation was deferred, {@code false} if all chunks of the chest are loaded
+	 */
+	boolean deferIfUnloaded(final DeathChestRecord deathChest, final ChestAction action)
+	{
+		final Set<ChestChunk> chunks = getChunks(deathChest);
+
+		if (allLoaded(chunks))
+		{
+			return false;
+		}
+
+		// if operation is not already deferred, persist it
+		if (operations.put(deathChest.chestUid(), action) != action)
+		{
+			chestManager.insertPendingOperation(deathChest.chestUid(), action);
+		}
+
+		// index chest by its chunks
+		chestChunks.put(deathChest.chestUid(), chunks);
+		for (ChestChunk chestChunk : chunks)
+		{
+			chunkIndex.computeIfAbsent(chestChunk, k -> new HashSet<>()).add(deathChest.chestUid());
+		}
+
+		return true;
+	}
+
+
+	/**
+	 * Queue operations that were persisted in the datastore, so they are deferred again or performed
+	 *
+	 * @param persistedOperations map of chest uid to deferred action
+	 */
+	void initialize(final Map<UUID, ChestAction> persistedOperations)
+	{
+		for (Map.Entry<UUID, ChestAction> entry : persistedOperations.entrySet())
+		{
+			operations.put(entry.getKey(), entry.getValue());
+			chestManager.queueAction(entry.getKey(), entry.getValue());
+		}
+
+		if (plugin.getSettings().debug() && !persistedOperations.isEmpty())
+		{
+			plugin.getLogger().info(persistedOperations.size() + " deferred death chest operations loaded.");
+		}
+	}
+
+
+	/**
+	 * Queue deferred operations on chests whose chunks are all loaded, now that a chunk has loaded
+	 *
+	 * @param chunk the chunk that was loaded
+	 */
+	void loadChunk(final Chunk chunk)
+	{
+		// if there are no deferred operations, do nothing and return
+		if (chunkIndex.isEmpty())
+		{
+			return;
+		}
+
+		final Set<UUID> chestUids = chunkIndex.get(ChestChunk.of(chunk));
+
+		// if no deferred chests have blocks in this chunk, do nothing and return
+		if (chestUids == null)
+		{
+			return;
+		}
+
+		for (UUID chestUid : List.copyOf(chestUids))
+		{
+			if (allLoaded(chestChunks.get(chestUid)))
+			{
+				final ChestAction action = operations.get(chestUid);
+				unindex(chestUid);
+				releaseTickets(chestUid);
+				chestManager.queueAction(chestUid, action);
+			}
+		}
+	}
+
+
+	/**
+	 * Request loading of the chunks of the oldest deferred operations, up to a limit, so that their operations
+	 * are performed without waiting for the chunks to load naturally. Chunks are loaded asynchronously if the
+	 * server supports it, and held loaded with plugin chunk tickets until the chest's operation is queued.
+	 *
+	 * @param maxChunks the maximum number of chunk loads to request
+	 */
+	void drain(final int maxChunks)
+	{
+		int requestCount = 0;
+
+		for (UUID chestUid : List.copyOf(chestChunks.keySet()))
+		{
+			if (requestCount >= maxChunks)
+			{
+				break;
+			}
+
+			final Collection<ChestChunk> tickets = ticketedChunks.computeIfAbsent(chestUid, k -> new HashSet<>());
+
+			for (ChestChunk chestChunk : List.copyOf(chestChunks.getOrDefault(chestUid, Collections.emptySet())))
+			{
+				// a chest may span chunks, so check the limit for each chunk requested
+				if (requestCount >= maxChunks)
+				{
+					break;
+				}
+
+				final World world = plugin.getServer().getWorld(chestChunk.worldUid());
+
+				// if world is not loaded, any ticket held in it was released when the world was unloaded
+				if (world == null)
+				{
+					tickets.remove(chestChunk);
+					continue;
+				}
+
+				// if chunk is loaded or is being loaded, skip to next chunk
+				if (world.isChunkLoaded(chestChunk.chunkX(), chestChunk.chunkZ()) || requestedChunks.contains(chestChunk))
+				{
+					continue;
+				}
+
+				// chunk is not loaded, so any ticket recorded for it was lost when its world was unloaded
+				tickets.remove(chestChunk);
+
+				requestChunk(world, chestUid, chestChunk);
+				requestCount++;
+			}
+		}
+	}
+
+
+	/**
+	 * Load a chunk for a deferred operation. The chunk load event queues the operation once all chunks are loaded.
+	 *
+	 * @param world the world of the chunk
+	 * @param chestUid the uid of the chest with a deferred operation
+	 * @param chestChunk the chunk to load
+	 */
+	private void requestChunk(final World world, final UUID chestUid, final ChestChunk chestChunk)
+	{
+		if (GET_CHUNK_AT_ASYNC != null)
+		{
+			try
+			{
+				final CompletableFuture<?> future = (CompletableFuture<?>) GET_CHUNK_AT_ASYNC.invoke(world,
+						chestChunk.chunkX(), chestChunk.chunkZ());
+				requestedChunks.add(chestChunk);
+				future.whenComplete((chunk, throwable) -> runOnServerThread(() -> {
+					requestedChunks.remove(chestChunk);
+
+					// if operation is still deferred, hold chunk loaded until all chunks of the chest are loaded
+					if (throwable == null && chestChunks.containsKey(chestUid)
+							&& world.addPluginChunkTicket(chestChunk.chunkX(), chestChunk.chunkZ(), plugin))
+					{
+						ticketedChunks.computeIfAbsent(chestUid, k -> new HashSet<>()).add(chestChunk);
+					}
+				}));
+				return;
+			}
+			catch (ReflectiveOperationException | ClassCastException e)
+			{
+				if (plugin.getSettings().debug())
+				{
+					e.printStackTrace();
+				}
+			}
+		}
+
+		// Spigot fallback: adding a plugin chunk ticket loads the chunk synchronously.
+		// Record ticket first, because the chunk load event may queue the operation and release its tickets
+		final Collection<ChestChunk> tickets = ticketedChunks.computeIfAbsent(chestUid, k -> new HashSet<>());
+		tickets.add(chestChunk);
+		if (!world.addPluginChunkTicket(chestChunk.chunkX(), chestChunk.chunkZ(), plugin))
+		{
+			tickets.remove(chestChunk);
+		}
+	}
+
+
+	/**
+	 * Remove the deferred operation of a chest that has been performed or removed, releasing any chunk tickets held for it
+	 *
+	 * @param chestUid the uid of the chest
+	 */
+	void remove(final UUID chestUid)
+	{
+		if (operations.remove(chestUid) == null)
+		{
+			return;
+		}
+
+		unindex(chestUid);
+		releaseTickets(chestUid);
+	}
+
+
+	/**
+	 * Release the plugin chunk tickets held for a chest's deferred operation
+	 *
+	 * @param chestUid the uid of the chest
+	 */
+	private void releaseTickets(final UUID chestUid)
+	{
+		final Collection<ChestChunk> tickets = ticketedChunks.remove(chestUid);
+		if (tickets != null)
+		{
+			for (ChestChunk chestChunk : tickets)
+			{
+				final World world = plugin.getServer().getWorld(chestChunk.worldUid());
+				if (world != null)
+				{
+					world.removePluginChunkTicket(chestChunk.chunkX(), chestChunk.chunkZ(), plugin);
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * Run a task on the server thread, immediately if called from the server thread
+	 *
+	 * @param task the task to run
+	 */
+	private void runOnServerThread(final Runnable task)
+	{
+		if (plugin.getServer().isPrimaryThread())
+		{
+			task.run();
+		}
+		else if (plugin.isEnabled())
+		{
+			plugin.getServer().getScheduler().runTask(plugin, task);
+		}
+	}
+
+
+	/**
+	 * Find the Paper method for loading chunks asynchronously
+	 *
+	 * @return the World.getChunkAtAsync(int, int) method, or null if the server API does not provide it
+	 */
+	private static Method findGetChunkAtAsync()
+	{
+		try
+		{
+			return World.class.getMethod("getChunkAtAsync", int.class, int.class);
+		}
+		catch (NoSuchMethodException e)
+		{
+			return null;
+		}
+	}
+
+
+	/**
+	 * Get the number of deferred operations
+	 *
+	 * @return the number of chests with deferred operations
+	 */
+	int size()
+	{
+		return operations.size();
+	}
+
+
+	/**
+	 * Remove a chest from the chunk indexes, leaving its operation recorded until it is performed
+	 *
+	 * @param chestUid the uid of the chest
+	 */
+	private void unindex(final UUID chestUid)
+	{
+		final Set<ChestChunk> chunks = chestChunks.remove(chestUid);
+
+		if (chunks != null)
+		{
+			for (ChestChunk chestChunk : chunks)
+			{
+				final Set<UUID> chestUids = chunkIndex.get(chestChunk);
+				if (chestUids != null)
+				{
+					chestUids.remove(chestUid);
+					if (chestUids.isEmpty())
+					{
+						chunkIndex.remove(chestChunk);
+					}
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * Get the chunks that contain a chest's indexed blocks, and any chunks not yet resolved by lazy chest loading
+	 *
+	 * @param deathChest the chest
+	 * @return Set of chunks containing the chest's blocks
+	 */
+	private Set<ChestChunk> getChunks(final DeathChestRecord deathChest)
+	{
+		final Set<ChestChunk> chunks = new HashSet<>(chestManager.getUnresolvedChunks(deathChest.chestUid()));
+
+		for (ChestBlock chestBlock : chestManager.getBlocks(deathChest.chestUid()))
+		{
+			chunks.add(new ChestChunk(chestBlock.getWorldUid(), chestBlock.getChunkKey()));
+		}
+
+		return chunks;
+	}
+
+
+	private boolean allLoaded(final Collection<ChestChunk> chunks)
+	{
+		if (chunks == null)
+		{
+			return true;
+		}
+
+		for (ChestChunk chestChunk : chunks)
+		{
+			final World world = plugin.getServer().getWorld(chestChunk.worldUid());
+
+			// chests in worlds that are not loaded cannot be acted on until the world is loaded
+			if (world == null || !world.isChunkLoaded(chestChunk.chunkX(), chestChunk.chunkZ()))
+			{
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2022 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.deathchest.chests;
+
+import java.time.Instant;
+import java.util.*;
+
+
+/**
+ * A min-heap of death chests ordered by expiration time. Cancelled entries are left in the heap
+ * and discarded when they reach the head, so cancellation is a single map removal.
+ * This class is only accessed from the server thread.
+ */
+final class ExpirationQueue
+{
+	// heap entries are compacted when stale entries outnumber live entries by this factor
+	private static final int COMPACTION_FACTOR = 2;
+
+	// heap of scheduled expirations, ordered by expiration time
+	private final PriorityQueue<Entry> heap;
+
+	// map of chest uid to its live heap entry
+	private final Map<UUID, Entry> scheduled;
+
+
+	/**
+	 * A scheduled expiration
+	 *
+	 * @param chestUid the uid of the chest
+	 * @param expirationMillis the expiration time of the chest, in epoch milliseconds
+	 */
+	private record Entry(UUID chestUid, long expirationMillis) { }
+
+
+	/**
+	 * Class constructor
+	 */
+	ExpirationQueue()
+	{
+		this.heap = new PriorityQueue<>(Comparator.comparingLong(Entry::expirationMillis));
+		this.scheduled = new HashMap<>();
+	}
+
+
+	/**
+	 * Schedule a chest to expire at its expiration time, replacing any earlier schedule for the chest.
+	 * Chests that never expire, denoted by an expiration time of {@code Instant.EPOCH}, are not scheduled.
+	 *
+	 * @param deathChest the chest to schedule
+	 */
+	void schedule(final DeathChestRecord deathChest)
+	{
+		// if chest never expires, remove any existing schedule and return
+		if (!deathChest.expirationTime().isAfter(Instant.EPOCH))
+		{
+			cancel(deathChest.chestUid());
+			return;
+		}
+
+		final Entry entry = new Entry(deathChest.chestUid(), deathChest.expirationTime().toEpochMilli());
+		scheduled.put(entry.chestUid(), entry);
+		heap.add(entry);
+	}
+
+
+	/**
+	 * Cancel the scheduled expiration of a chest
+	 *
+	 * @param chestUid the uid of the chest
+	 */
+	void cancel(final UUID chestUid)
+	{
+		if (chestUid != null && scheduled.remove(chestUid) != null && heap.size() > COMPACTION_FACTOR * (scheduled.size() + 1) + 64)
+		{
+			// discard cancelled entries, so looted chests do not accumulate in the heap
+			heap.removeIf(entry -> scheduled.get(entry.chestUid()) != entry);
+		}
+	}
+
+
+	/**
+	 * Remove and return chests whose expiration time has passed, earliest first
+	 *
+	 * @param nowMillis the current time, in epoch milliseconds
+	 * @param maxCount the maximum number of chests to return
+	 * @return List of uids of chests that are due to expire
+	 */
+	List<UUID> pollDue(final long nowMillis, final int maxCount)
+	{
+		final List<UUID> due = new ArrayList<>();
+
+		while (due.size() < maxCount && !heap.isEmpty() && heap.peek().expirationMillis() <= nowMillis)
+		{
+			final Entry entry = heap.poll();
+
+			// skip entries that were cancelled or rescheduled
+			if (scheduled.get(entry.chestUid()) == entry)
+			{
+				scheduled.remove(entry.chestUid());
+				due.add(entry.chestUid());
+			}
+		}
+
+		return due;
+	}
+
+
+	/**
+	 * Get the number of chests scheduled to expire
+	 *
+	 * @return the number of scheduled chests
+	 */
+	int size()
+	{
+		return scheduled.size();
+	}
+
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2022 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.deathchest.chests;
+
+import com.winterhavenmc.deathchest.PluginMain;
+import org.bukkit.Chunk;
+import org.bukkit.scheduler.BukkitRunnable;
+
+import java.time.Instant;
+import java.util.*;
+
+
+/**
+ * A class that defers validation of death chest blocks until the chunks that contain them are loaded.
+ * Chest records are loaded at startup, but their in game blocks are only read when a chunk load event
+ * fires for a chunk that contains them, using a per-chunk query against the datastore.
+ */
+final class LazyChestLoader
+{
+	// reference to main class
+	private final PluginMain plugin;
+
+	// reference to chest manager
+	private final ChestManager chestManager;
+
+	// map of unresolved chest uid to the chunks containing its blocks that have not yet been loaded
+	private final Map<UUID, Set<ChestChunk>> unresolvedChests;
+
+	// map of pending chunk to the unresolved chests that have blocks in the chunk
+	private final Map<ChestChunk, Set<UUID>> pendingChunks;
+
+
+	/**
+	 * Class constructor
+	 *
+	 * @param plugin reference to main class
+	 * @param chestManager reference to chest manager
+	 */
+	LazyChestLoader(final PluginMain plugin, final ChestManager chestManager)
+	{
+		this.plugin = plugin;
+		this.chestManager = chestManager;
+		this.unresolvedChests = new HashMap<>();
+		this.pendingChunks = new HashMap<>();
+	}
+
+
+	/**
+	 * Record the chunks of each chest whose blocks have not yet been validated
+	 *
+	 * @param blockChunks map of chest uid to the set of chunks that contain its blocks
+	 */
+	void initialize(final Map<UUID, Set<ChestChunk>> blockChunks)
+	{
+		for (Map.Entry<UUID, Set<ChestChunk>> entry : blockChunks.entrySet())
+		{
+			unresolvedChests.put(entry.getKey(), new HashSet<>(entry.getValue()));
+
+			for (ChestChunk chestChunk : entry.getValue())
+			{
+				pendingChunks.computeIfAbsent(chestChunk, k -> new HashSet<>()).add(entry.getKey());
+			}
+		}
+
+		if (plugin.getSettings().debug())
+		{
+			plugin.getLogger().info(unresolvedChests.size() + " death chests in "
+					+ pendingChunks.size() + " chunks deferred until chunk load.");
+		}
+	}
+
+
+	/**
+	 * Check if a chest still has blocks in chunks that have not been loaded
+	 *
+	 * @param chestUid the uid of the chest
+	 * @return {@code true} if the chest is unresolved, {@code false} if not
+	 */
+	boolean isUnresolved(final UUID chestUid)
+	{
+		return unresolvedChests.containsKey(chestUid);
+	}
+
+
+	/**
+	 * Get the chunks containing blocks of an unresolved chest that have not yet been loaded
+	 *
+	 * @param chestUid the uid of the chest
+	 * @return Set of chunks, or empty set if the chest is not unresolved
+	 */
+	Set<ChestChunk> getUnresolvedChunks(final UUID chestUid)
+	{
+		return unresolvedChests.getOrDefault(chestUid, Collections.emptySet());
+	}
+
+
+	/**
+	 * Get the number of chunks with chest blocks that have not been loaded
+	 *
+	 * @return the number of pending chunks
+	 */
+	int getPendingChunkCount()
+	{
+		return pendingChunks.size();
+	}
+
+
+	/**
+	 * Validate the chest blocks in a newly loaded chunk, adding valid blocks to the block index
+	 * and deleting block records whose in game block is no longer a death chest block
+	 *
+	 * @param chunk the chunk that was loaded
+	 */
+	void loadChunk(final Chunk chunk)
+	{
+		// if there are no pending chunks, do nothing and return
+		if (pendingChunks.isEmpty())
+		{
+			return;
+		}
+
+		final ChestChunk chestChunk = ChestChunk.of(chunk);
+
+		// get unresolved chests with blocks in this chunk
+		final Set<UUID> chestUids = pendingChunks.remove(chestChunk);
+
+		// if chunk is not pending, do nothing and return
+		if (chestUids == null)
+		{
+			return;
+		}
+
+		// validate block records in chunk against in game blocks
+		for (ChestBlock chestBlock : chestManager.selectBlockRecords(chestChunk))
+		{
+			final DeathChestRecord deathChest = chestManager.getChest(chestBlock.getChestUid());
+
+			// get chest block type from in game block, using chunk relative coordinates
+			final ChestBlockType chestBlockType = ChestBlockType.getType(
+					chunk.getBlock(chestBlock.getX() & 15, chestBlock.getY(), chestBlock.getZ() & 15));
+
+			// if chest block type is null or parent chest not in chest map, delete block record
+			if (chestBlockType == null || deathChest == null)
+			{
+				chestManager.deleteBlockRecord(chestBlock);
+			}
+			else
+			{
+				chestManager.putBlock(chestBlockType, chestBlock);
+				chestBlock.setMetadata(deathChest);
+			}
+		}
+
+		// collect chests that have no remaining unloaded chunks
+		final Collection<UUID> resolvedChests = new ArrayList<>();
+		for (UUID chestUid : chestUids)
+		{
+			final Set<ChestChunk> remainingChunks = unresolvedChests.get(chestUid);
+			if (remainingChunks != null)
+			{
+				remainingChunks.remove(chestChunk);
+				if (remainingChunks.isEmpty())
+				{
+					unresolvedChests.remove(chestUid);
+					resolvedChests.add(chestUid);
+				}
+			}
+		}
+
+		// remove or queue expiration of resolved chests on next tick, outside of chunk load event
+		if (!resolvedChests.isEmpty())
+		{
+			new BukkitRunnable()
+			{
+				@Override
+				public void run()
+				{
+					resolvedChests.forEach(chestUid -> resolveChest(chestUid));
+				}
+			}.runTask(plugin);
+		}
+	}
+
+
+	/**
+	 * Remove a resolved chest that has no valid blocks, or expire it if it is past expiration
+	 *
+	 * @param chestUid the uid of the resolved chest
+	 */
+	private void resolveChest(final UUID chestUid)
+	{
+		final DeathChestRecord deathChest = chestManager.getChest(chestUid);
+
+		// if chest was removed while waiting, do nothing and return
+		if (deathChest == null)
+		{
+			return;
+		}
+
+		// if DeathChest has no children, remove from index and datastore
+		if (chestManager.getBlocks(chestUid).isEmpty())
+		{
+			chestManager.removeChest(deathChest);
+			chestManager.deleteChestRecord(deathChest);
+		}
+		// if DeathChest is past expiration (not infinite, denoted by Instant.EPOCH), expire chest
+		else if (deathChest.expirationTime().isAfter(Instant.EPOCH) && deathChest.expirationTime().isBefore(Instant.now()))
+		{
+			chestManager.queueExpire(deathChest);
+		}
+	}
+
+}
@@ -18,6 +18,7 @@
 package com.winterhavenmc.deathchest.chests;
 
 import org.bukkit.Location;
+import org.bukkit.Material;
 import org.bukkit.block.Block;
 import org.bukkit.block.BlockFace;
 import org.bukkit.entity.Player;
@@ -146,13 +147,64 @@ public final class LocationUtilities
 	}
 
 
-	public static boolean isAbovePath(final Block block)
+	/**
+	 * Get a packed key for a chunk. The chunk x coordinate is stored in the high 32 bits
+	 * and the chunk z coordinate in the low 32 bits, matching the ChunkKey column of the Blocks table.
+	 *
+	 * @param chunkX the chunk x coordinate
+	 * @param chunkZ the chunk z coordinate
+	 * @return the packed chunk key
+	 */
+	public static long getChunkKey(final int chunkX, final int chunkZ)
 	{
-		// get string for block material type at location below block
-		String materialType = block.getRelative(0, -1, 0).getType().toString();
+		return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+	}
+
 
+	/**
+	 * Get the packed key of the chunk that contains a block coordinate
+	 *
+	 * @param blockX the block x coordinate
+	 * @param blockZ the block z coordinate
+	 * @return the packed chunk key
+	 */
+	public static long getBlockChunkKey(final int blockX, final int blockZ)
+	{
+		return getChunkKey(blockX >> 4, blockZ >> 4);
+	}
+
+
+	/**
+	 * Get a packed key for a block position within a world. The x and z coordinates are stored
+	 * in 26 bits each and the y coordinate in 12 bits, which covers the full world border and build height.
+	 *
+	 * @param x the block x coordinate
+	 * @param y the block y coordinate
+	 * @param z the block z coordinate
+	 * @return the packed block key
+	 */
+	public static long getBlockKey(final int x, final int y, final int z)
+	{
+		return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFF);
+	}
+
+
+	public static boolean isAbovePath(final Block block)
+	{
 		// if block at location is above grass path, return negative result
-		return PATH_MATERIAL_NAMES.contains(materialType);
+		return isPathMaterial(block.getRelative(0, -1, 0).getType());
+	}
+
+
+	/**
+	 * Check if a material is a grass path or dirt path material
+	 *
+	 * @param material the material to check
+	 * @return {@code true} if the material is a path material, {@code false} if not
+	 */
+	public static boolean isPathMaterial(final Material material)
+	{
+		return material != null && PATH_MATERIAL_NAMES.contains(material.toString());
 	}
 
 }
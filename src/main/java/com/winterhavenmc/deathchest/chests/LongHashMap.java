@@ -0,0 +1,286 @@
+/*
+ * Copyright (c) 2022 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.deathchest.chests;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+
+/**
+ * An open addressing hash map with primitive long keys and linear probing.
+ * Lookups do not allocate. Null values are not permitted. This class is not thread safe.
+ *
+ * @param <V> the type of mapped values
+ */
+final class LongHashMap<V>
+{
+	// initial number of slots, must be a power of two
+	private static final int INITIAL_CAPACITY = 16;
+
+	// maximum fraction of slots in use before the table is grown
+	private static final float LOAD_FACTOR = 0.6f;
+
+	// slot keys
+	private long[] keys;
+
+	// slot values, null for an empty slot
+	private Object[] values;
+
+	// number of entries in the map
+	private int size;
+
+	// size at which the table will be grown
+	private int threshold;
+
+
+	/**
+	 * Class constructor
+	 */
+	LongHashMap()
+	{
+		allocate(INITIAL_CAPACITY);
+	}
+
+
+	/**
+	 * Get the value mapped to a key
+	 *
+	 * @param key the key
+	 * @return the mapped value, or null if the key is not in the map
+	 */
+	@SuppressWarnings("unchecked")
+	V get(final long key)
+	{
+		final int mask = keys.length - 1;
+		int slot = hash(key) & mask;
+
+		while (values[slot] != null)
+		{
+			if (keys[slot] == key)
+			{
+				return (V) values[slot];
+			}
+			slot = (slot + 1) & mask;
+		}
+
+		return null;
+	}
+
+
+	/**
+	 * Check if a key is in the map
+	 *
+	 * @param key the key
+	 * @return {@code true} if the key is in the map, {@code false} if it is not
+	 */
+	boolean containsKey(final long key)
+	{
+		return get(key) != null;
+	}
+
+
+	/**
+	 * Map a key to a value, replacing any existing value
+	 *
+	 * @param key the key
+	 * @param value the value, must not be null
+	 * @return the previous value mapped to the key, or null if there was none
+	 */
+	@SuppressWarnings("unchecked")
+	V put(final long key, final V value)
+	{
+		if (value == null)
+		{
+			throw new NullPointerException("value must not be null");
+		}
+
+		final int mask = keys.length - 1;
+		int slot = hash(key) & mask;
+
+		while (values[slot] != null)
+		{
+			if (keys[slot] == key)
+			{
+				final V previous = (V) values[slot];
+				values[slot] = value;
+				return previous;
+			}
+			slot = (slot + 1) & mask;
+		}
+
+		keys[slot] = key;
+		values[slot] = value;
+
+		if (++size > threshold)
+		{
+			resize(keys.length * 2);
+		}
+
+		return null;
+	}
+
+
+	/**
+	 * Remove a key from the map
+	 *
+	 * @param key the key
+	 * @return the value that was mapped to the key, or null if the key was not in the map
+	 */
+	@SuppressWarnings("unchecked")
+	V remove(final long key)
+	{
+		final int mask = keys.length - 1;
+		int slot = hash(key) & mask;
+
+		while (values[slot] != null)
+		{
+			if (keys[slot] == key)
+			{
+				final V previous = (V) values[slot];
+				shiftBack(slot);
+				size--;
+				return previous;
+			}
+			slot = (slot + 1) & mask;
+		}
+
+		return null;
+	}
+
+
+	/**
+	 * Get the number of entries in the map
+	 *
+	 * @return the number of entries
+	 */
+	int size()
+	{
+		return size;
+	}
+
+
+	/**
+	 * Check if the map is empty
+	 *
+	 * @return {@code true} if the map has no entries, {@code false} if it does
+	 */
+	boolean isEmpty()
+	{
+		return size == 0;
+	}
+
+
+	/**
+	 * Get a snapshot of all values in the map
+	 *
+	 * @return Collection of values
+	 */
+	@SuppressWarnings("unchecked")
+	Collection<V> values()
+	{
+		final Collection<V> result = new ArrayList<>(size);
+
+		for (Object value : values)
+		{
+			if (value != null)
+			{
+				result.add((V) value);
+			}
+		}
+
+		return result;
+	}
+
+
+	/**
+	 * Close the gap left by a removed entry, moving later entries of the same probe run back into it
+	 *
+	 * @param gap the slot that was emptied
+	 */
+	private void shiftBack(int gap)
+	{
+		final int mask = keys.length - 1;
+		int slot = gap;
+
+		while (true)
+		{
+			slot = (slot + 1) & mask;
+
+			if (values[slot] == null)
+			{
+				values[gap] = null;
+				return;
+			}
+
+			// move entry into the gap if its home slot is not between the gap and its current slot
+			final int home = hash(keys[slot]) & mask;
+			if (((slot - home) & mask) >= ((slot - gap) & mask))
+			{
+				keys[gap] = keys[slot];
+				values[gap] = values[slot];
+				gap = slot;
+			}
+		}
+	}
+
+
+	private void resize(final int capacity)
+	{
+		final long[] oldKeys = keys;
+		final Object[] oldValues = values;
+
+		allocate(capacity);
+
+		final int mask = capacity - 1;
+		for (int i = 0; i < oldValues.length; i++)
+		{
+			if (oldValues[i] != null)
+			{
+				int slot = hash(oldKeys[i]) & mask;
+				while (values[slot] != null)
+				{
+					slot = (slot + 1) & mask;
+				}
+				keys[slot] = oldKeys[i];
+				values[slot] = oldValues[i];
+			}
+		}
+	}
+
+
+	private void allocate(final int capacity)
+	{
+		keys = new long[capacity];
+		values = new Object[capacity];
+		threshold = (int) (capacity * LOAD_FACTOR);
+	}
+
+
+	/**
+	 * Spread the bits of a key, so that keys differing only in high bits land in different slots
+	 *
+	 * @param key the key
+	 * @return the mixed hash
+	 */
+	private static int hash(final long key)
+	{
+		long h = key * 0x9E3779B97F4A7C15L;
+		return (int) (h ^ (h >>> 32));
+	}
+
+}
@@ -22,6 +22,7 @@ import org.bukkit.Material;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.LinkedHashSet;
 import java.util.Set;
 
@@ -82,6 +83,22 @@ public final class ReplaceableBlocks
 	}
 
 
+	/**
+	 * Get a copy of the replaceableBlocks set, for use off the main thread
+	 *
+	 * @return Set of replaceable materials
+	 */
+	public Set<Material> getMaterials()
+	{
+		synchronized (this.materialSet)
+		{
+			return (this.materialSet.isEmpty())
+					? EnumSet.noneOf(Material.class)
+					: EnumSet.copyOf(this.materialSet);
+		}
+	}
+
+
 	/**
 	 * Get string representation of replaceableBlocks set
 	 *
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2022 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.deathchest.chests;
+
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * A class that identifies a world by its UUID and name. Instances are interned by world UUID,
+ * so every chest block and chest record in a world shares a single world UUID and name.
+ * <p>
+ * The server world is resolved on first use and cached, so chest blocks do not look up their world
+ * on every access. The cached world is cleared when a world with the same UUID is loaded or unloaded.
+ */
+public final class WorldId
+{
+	// world id for chest blocks whose world could not be determined
+	static final WorldId UNKNOWN = new WorldId(null, "unknown");
+
+	// map of world uid to interned world id
+	private static final Map<UUID, WorldId> INTERNED = new ConcurrentHashMap<>();
+
+	private final UUID uid;
+	private final String name;
+
+	// cached server world, or null if not yet resolved or not loaded
+	private volatile World world;
+
+
+	/**
+	 * Class constructor
+	 *
+	 * @param uid  the UUID of the world, or null if the world is unknown
+	 * @param name the name of the world
+	 */
+	private WorldId(final UUID uid, final String name)
+	{
+		this.uid = uid;
+		this.name = name;
+	}
+
+
+	/**
+	 * Get the interned world id for a world
+	 *
+	 * @param world the world
+	 * @return the interned world id, or {@link #UNKNOWN} if world is null
+	 */
+	public static WorldId of(final World world)
+	{
+		return (world != null)
+				? of(world.getUID(), world.getName())
+				: UNKNOWN;
+	}
+
+
+	/**
+	 * Get the interned world id for a world uid. The name passed when a world uid is first interned is kept.
+	 *
+	 * @param uid the UUID of the world
+	 * @param name the name of the world
+	 * @return the interned world id, or {@link #UNKNOWN} if uid is null
+	 */
+	public static WorldId of(final UUID uid, final String name)
+	{
+		if (uid == null)
+		{
+			return UNKNOWN;
+		}
+
+		return INTERNED.computeIfAbsent(uid, k -> new WorldId(k, name));
+	}
+
+
+	/**
+	 * Clear the cached server world for a world uid, so it is resolved again on next use
+	 *
+	 * @param uid the UUID of the world that was loaded or unloaded
+	 */
+	public static void invalidate(final UUID uid)
+	{
+		if (uid == null)
+		{
+			return;
+		}
+
+		final WorldId worldId = INTERNED.get(uid);
+		if (worldId != null)
+		{
+			worldId.world = null;
+		}
+	}
+
+
+	/**
+	 * Get the world uid
+	 *
+	 * @return the UUID of the world, or null if the world is unknown
+	 */
+	public UUID uid()
+	{
+		return this.uid;
+	}
+
+
+	/**
+	 * Get the world name
+	 *
+	 * @return the name of the world
+	 */
+	public String name()
+	{
+		return this.name;
+	}
+
+
+	/**
+	 * Get the server world, resolving it by uid if it is not cached
+	 *
+	 * @return the server world, or null if the world is unknown or not loaded
+	 */
+	public World getWorld()
+	{
+		World result = this.world;
+
+		if (result == null && this.uid != null)
+		{
+			result = Bukkit.getWorld(this.uid);
+			this.world = result;
+		}
+
+		return result;
+	}
+
+
+	@Override
+	public String toString()
+	{
+		return this.name;
+	}
+}
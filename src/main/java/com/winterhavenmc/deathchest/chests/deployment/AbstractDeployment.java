@@ -20,8 +20,11 @@ package com.winterhavenmc.deathchest.chests.deployment;
 import com.winterhavenmc.deathchest.PluginMain;
 import com.winterhavenmc.deathchest.chests.ChestBlock;
 import com.winterhavenmc.deathchest.chests.ChestBlockType;
+import com.winterhavenmc.deathchest.chests.ChestSize;
 import com.winterhavenmc.deathchest.chests.DeathChestRecord;
 import com.winterhavenmc.deathchest.chests.LocationUtilities;
+import com.winterhavenmc.deathchest.chests.search.Search;
+import com.winterhavenmc.deathchest.chests.search.SearchCandidates;
 import com.winterhavenmc.deathchest.chests.search.SearchResult;
 import com.winterhavenmc.deathchest.chests.search.SearchResultCode;
 import com.winterhavenmc.deathchest.messages.Macro;
@@ -47,6 +50,7 @@ public abstract class AbstractDeployment implements Deployment
 	protected final PluginMain plugin;
 	protected final Player player;
 	protected final Collection<ItemStack> droppedItems;
+	protected final SearchCandidates searchCandidates;
 
 
 	/**
@@ -55,12 +59,31 @@ public abstract class AbstractDeployment implements Deployment
 	 * @param plugin reference to plugin main class
 	 * @param player the player for whom chest is being deployed
 	 * @param droppedItems the player's death drops
+	 * @param searchCandidates candidate locations ranked from chunk snapshots, or null to search with configured search type
 	 */
-	public AbstractDeployment(final PluginMain plugin, final Player player, final Collection<ItemStack> droppedItems)
+	public AbstractDeployment(final PluginMain plugin,
+	                          final Player player,
+	                          final Collection<ItemStack> droppedItems,
+	                          final SearchCandidates searchCandidates)
 	{
 		this.plugin = plugin;
 		this.player = player;
 		this.droppedItems = droppedItems;
+		this.searchCandidates = searchCandidates;
+	}
+
+
+	/**
+	 * Create a search for a chest location, using ranked candidates if available
+	 *
+	 * @param chestSize the size of chest to be placed
+	 * @return new instance of Search
+	 */
+	Search createSearch(final ChestSize chestSize)
+	{
+		return (searchCandidates != null)
+				? searchCandidates.createSearch(plugin, player, chestSize)
+				: plugin.getSettings().searchType().create(plugin, player, chestSize);
 	}
 
 
@@ -172,7 +195,7 @@ public abstract class AbstractDeployment implements Deployment
 	 */
 	boolean chestRequired()
 	{
-		return plugin.getConfig().getBoolean("require-chest")
+		return plugin.getSettings().requireChest()
 				&& !player.hasPermission("deathchest.freechest");
 	}
 
@@ -247,7 +270,7 @@ public abstract class AbstractDeployment implements Deployment
 	void finalize(final SearchResult searchResult, final DeathChestRecord deathChest)
 	{
 		// if debugging, log result
-		if (plugin.getConfig().getBoolean("debug"))
+		if (plugin.getSettings().debug())
 		{
 			logResult(searchResult);
 		}
@@ -271,7 +294,7 @@ public abstract class AbstractDeployment implements Deployment
 		}
 
 		// get configured chest protection time
-		long chestProtectionTime = plugin.getConfig().getLong("chest-protection-time");
+		long chestProtectionTime = plugin.getSettings().chestProtectionTime();
 
 		// if protection time is zero, set to negative to display infinite time in message
 		if (chestProtectionTime == 0)
@@ -280,7 +303,7 @@ public abstract class AbstractDeployment implements Deployment
 		}
 
 		// if chest protection is enabled and chest-protection-time is set (non-zero), send message
-		if (plugin.getConfig().getBoolean("chest-protection") && chestProtectionTime > 0)
+		if (plugin.getSettings().chestProtection() && chestProtectionTime > 0)
 		{
 			plugin.messageBuilder.compose(player, MessageId.CHEST_DEPLOYED_PROTECTION_TIME)
 					.setMacro(Macro.DEATH_CHEST, deathChest)
@@ -306,7 +329,7 @@ public abstract class AbstractDeployment implements Deployment
 	private void sendResultMessage(final Player player, final DeathChestRecord deathChest, final SearchResult result)
 	{
 		// get configured expire-time
-		long expireTime = plugin.getConfig().getLong("expire-time");
+		long expireTime = plugin.getSettings().expireTime();
 
 		// if configured expire-time is zero, set to negative to display infinite time in messages
 		if (expireTime == 0)
@@ -19,16 +19,40 @@ package com.winterhavenmc.deathchest.chests.deployment;
 
 import com.winterhavenmc.deathchest.PluginMain;
 import com.winterhavenmc.deathchest.chests.ChestSize;
+import com.winterhavenmc.deathchest.chests.search.SearchCandidates;
+import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.LinkedList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 
 
 public class DeploymentFactory
 {
 	public Deployment createDeployment(final PluginMain plugin, final Player player, final Collection<ItemStack> droppedItems)
+	{
+		return createDeployment(plugin, player, droppedItems, null);
+	}
+
+
+	/**
+	 * Create a deployment that searches candidate locations ranked from chunk snapshots
+	 *
+	 * @param plugin reference to plugin main class
+	 * @param player the player for whom a death chest is being deployed
+	 * @param droppedItems the player's death drops
+	 * @param searchCandidates candidate locations ranked from chunk snapshots, or null to search with configured search type
+	 * @return the deployment
+	 */
+	public Deployment createDeployment(final PluginMain plugin,
+	                                   final Player player,
+	                                   final Collection<ItemStack> droppedItems,
+	                                   final SearchCandidates searchCandidates)
 	{
 		// combine stacks of same items where possible
 		Collection<ItemStack> consolidatedItems = consolidateItemStacks(droppedItems);
@@ -39,24 +63,29 @@ public class DeploymentFactory
 		// deploy appropriately sized chest
 		if (chestSize.equals(ChestSize.SINGLE) || !player.hasPermission("deathchest.doublechest"))
 		{
-			return new SingleChestDeployment(plugin, player, consolidatedItems);
+			return new SingleChestDeployment(plugin, player, consolidatedItems, searchCandidates);
 		}
 		else
 		{
-			return new DoubleChestDeployment(plugin, player, consolidatedItems);
+			return new DoubleChestDeployment(plugin, player, consolidatedItems, searchCandidates);
 		}
 	}
 
 
 	/**
-	 * Combine ItemStacks of same material up to max stack size
+	 * Combine ItemStacks of same material up to max stack size. Stacks are only compared with earlier stacks
+	 * of the same material and item meta presence that are not yet full, so the deep comparison in
+	 * {@link ItemStack#isSimilar} is skipped for stacks that could never be combined.
 	 *
 	 * @param itemStacks Collection of ItemStacks to combine
 	 * @return Collection of ItemStack with same materials combined
 	 */
-	private Collection<ItemStack> consolidateItemStacks(final Collection<ItemStack> itemStacks)
+	Collection<ItemStack> consolidateItemStacks(final Collection<ItemStack> itemStacks)
 	{
-		final Collection<ItemStack> returnList = new LinkedList<>();
+		final Collection<ItemStack> returnList = new ArrayList<>(itemStacks.size());
+
+		// stacks that are not full, bucketed by material and item meta presence
+		final Map<StackKey, List<ItemStack>> openStacks = new HashMap<>();
 
 		for (ItemStack itemStack : itemStacks)
 		{
@@ -65,25 +94,53 @@ public class DeploymentFactory
 				continue;
 			}
 
-			for (ItemStack checkStack : returnList)
+			// unstackable items can never be combined; keep without comparison
+			if (itemStack.getMaxStackSize() <= 1)
 			{
-				if (checkStack == null)
-				{
-					continue;
-				}
+				returnList.add(itemStack);
+				continue;
+			}
+
+			// similar stacks always have the same material and item meta presence
+			final List<ItemStack> bucket = openStacks.computeIfAbsent(
+					new StackKey(itemStack.getType(), itemStack.hasItemMeta()), key -> new ArrayList<>());
+
+			final Iterator<ItemStack> iterator = bucket.iterator();
+			while (iterator.hasNext() && itemStack.getAmount() > 0)
+			{
+				ItemStack checkStack = iterator.next();
 				if (checkStack.isSimilar(itemStack))
 				{
 					int transferAmount = Math.min(itemStack.getAmount(), checkStack.getMaxStackSize() - checkStack.getAmount());
 					itemStack.setAmount(itemStack.getAmount() - transferAmount);
 					checkStack.setAmount(checkStack.getAmount() + transferAmount);
+
+					// full stacks cannot receive more items
+					if (checkStack.getAmount() >= checkStack.getMaxStackSize())
+					{
+						iterator.remove();
+					}
 				}
 			}
 			if (itemStack.getAmount() > 0)
 			{
 				returnList.add(itemStack);
+				if (itemStack.getAmount() < itemStack.getMaxStackSize())
+				{
+					bucket.add(itemStack);
+				}
 			}
 		}
 		return returnList;
 	}
 
+
+	/**
+	 * Key for buckets of stacks that may be similar
+	 *
+	 * @param material the material of the stacks
+	 * @param hasItemMeta true if the stacks have item meta
+	 */
+	private record StackKey(Material material, boolean hasItemMeta) { }
+
 }
@@ -19,7 +19,7 @@ package com.winterhavenmc.deathchest.chests.deployment;
 
 import com.winterhavenmc.deathchest.PluginMain;
 import com.winterhavenmc.deathchest.chests.*;
-import com.winterhavenmc.deathchest.chests.search.QuadrantSearch;
+import com.winterhavenmc.deathchest.chests.search.SearchCandidates;
 import com.winterhavenmc.deathchest.chests.search.SearchResult;
 import com.winterhavenmc.deathchest.chests.search.SearchResultCode;
 
@@ -39,10 +39,14 @@ public class DoubleChestDeployment extends AbstractDeployment implements Deploym
 	 * @param plugin reference to plugin main class
 	 * @param player the player for whom a death chest is being deployed
 	 * @param droppedItems the player's death drops
+	 * @param searchCandidates candidate locations ranked from chunk snapshots, or null to search with configured search type
 	 */
-	public DoubleChestDeployment(final PluginMain plugin, final Player player, final Collection<ItemStack> droppedItems)
+	public DoubleChestDeployment(final PluginMain plugin,
+	                             final Player player,
+	                             final Collection<ItemStack> droppedItems,
+	                             final SearchCandidates searchCandidates)
 	{
-		super(plugin, player, droppedItems);
+		super(plugin, player, droppedItems, searchCandidates);
 	}
 
 
@@ -58,12 +62,12 @@ public class DoubleChestDeployment extends AbstractDeployment implements Deploym
 		Collection<ItemStack> remainingItems = new LinkedList<>(droppedItems);
 
 		// search for valid chest location
-		SearchResult searchResult = new QuadrantSearch(plugin, player, ChestSize.DOUBLE).execute();
+		SearchResult searchResult = createSearch(ChestSize.DOUBLE).execute();
 
 		// if only single chest location found, deploy single chest
 		if (searchResult.getResultCode().equals(SearchResultCode.PARTIAL_SUCCESS))
 		{
-			searchResult = new SingleChestDeployment(plugin, player, remainingItems).deploy();
+			searchResult = new SingleChestDeployment(plugin, player, remainingItems, searchCandidates).deploy();
 
 			// if single chest deployment was successful, set PARTIAL_SUCCESS result
 			if (searchResult.getResultCode().equals(SearchResultCode.SUCCESS))
@@ -90,7 +94,7 @@ public class DoubleChestDeployment extends AbstractDeployment implements Deploym
 			if (containsChest(remainingItems))
 			{
 				// if consume-required-chest configured true: remove one chest from remaining items
-				if (plugin.getConfig().getBoolean("consume-required-chest")) {
+				if (plugin.getSettings().consumeRequiredChest()) {
 					remainingItems = removeOneChest(remainingItems);
 				}
 			}
@@ -117,14 +121,14 @@ public class DoubleChestDeployment extends AbstractDeployment implements Deploym
 
 		// if require-chest option is enabled
 		// and player does not have permission override
-		if (plugin.getConfig().getBoolean("require-chest")
+		if (plugin.getSettings().requireChest()
 				&& !player.hasPermission("deathchest.freechest"))
 		{
 			// check that player has chest in inventory
 			if (containsChest(remainingItems))
 			{
 				// if consume-required-chest configured true: remove one chest from remaining items
-				if (plugin.getConfig().getBoolean("consume-required-chest"))
+				if (plugin.getSettings().consumeRequiredChest())
 				{
 					remainingItems = removeOneChest(remainingItems);
 				}
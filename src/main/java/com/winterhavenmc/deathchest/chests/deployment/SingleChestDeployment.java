@@ -19,7 +19,7 @@ package com.winterhavenmc.deathchest.chests.deployment;
 
 import com.winterhavenmc.deathchest.PluginMain;
 import com.winterhavenmc.deathchest.chests.*;
-import com.winterhavenmc.deathchest.chests.search.QuadrantSearch;
+import com.winterhavenmc.deathchest.chests.search.SearchCandidates;
 import com.winterhavenmc.deathchest.chests.search.SearchResult;
 import com.winterhavenmc.deathchest.chests.search.SearchResultCode;
 
@@ -39,10 +39,14 @@ public class SingleChestDeployment extends AbstractDeployment implements Deploym
 	 * @param plugin reference to plugin main class
 	 * @param player the player for whom a death chest is being deployed
 	 * @param droppedItems the player's death drops
+	 * @param searchCandidates candidate locations ranked from chunk snapshots, or null to search with configured search type
 	 */
-	public SingleChestDeployment(PluginMain plugin, Player player, Collection<ItemStack> droppedItems)
+	public SingleChestDeployment(PluginMain plugin,
+	                             Player player,
+	                             Collection<ItemStack> droppedItems,
+	                             SearchCandidates searchCandidates)
 	{
-		super(plugin, player, droppedItems);
+		super(plugin, player, droppedItems, searchCandidates);
 	}
 
 
@@ -66,7 +70,7 @@ public class SingleChestDeployment extends AbstractDeployment implements Deploym
 			if (containsChest(remainingItems))
 			{
 				// if consume-required-chest configured true: remove one chest from remaining items
-				if (plugin.getConfig().getBoolean("consume-required-chest"))
+				if (plugin.getSettings().consumeRequiredChest())
 				{
 					remainingItems = removeOneChest(remainingItems);
 				}
@@ -81,7 +85,7 @@ public class SingleChestDeployment extends AbstractDeployment implements Deploym
 		}
 
 		// search for valid chest location
-		searchResult = new QuadrantSearch(plugin, player, ChestSize.SINGLE).execute();
+		searchResult = createSearch(ChestSize.SINGLE).execute();
 
 		// create new deathChest object for player
 		DeathChestRecord deathChest = new DeathChestRecord(plugin, player, searchResult.getLocation());
@@ -20,10 +20,12 @@ package com.winterhavenmc.deathchest.chests.search;
 import com.winterhavenmc.deathchest.PluginMain;
 import com.winterhavenmc.deathchest.chests.ChestSize;
 import com.winterhavenmc.deathchest.chests.LocationUtilities;
+import com.winterhavenmc.deathchest.permissions.protectionplugins.PlacementCache;
 import com.winterhavenmc.deathchest.permissions.protectionplugins.ProtectionCheckResult;
 import com.winterhavenmc.deathchest.permissions.protectionplugins.ProtectionCheckResultCode;
 
 import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.block.Block;
 import org.bukkit.entity.Player;
 
@@ -40,6 +42,9 @@ abstract class AbstractSearch implements Search
 	protected final boolean placeAboveVoid;
 	protected SearchResult searchResult;
 
+	// protection plugin placement check results for this search, by protected region and by chunk
+	private final PlacementCache placementCache;
+
 
 	/**
 	 * Class constructor
@@ -54,8 +59,9 @@ abstract class AbstractSearch implements Search
 		this.plugin = plugin;
 		this.player = player;
 		this.chestSize = chestSize;
-		this.searchDistance = plugin.getConfig().getInt("search-distance");
-		this.placeAboveVoid = plugin.getConfig().getBoolean("place-above-void");
+		this.searchDistance = plugin.getSettings().searchDistance();
+		this.placeAboveVoid = plugin.getSettings().placeAboveVoid();
+		this.placementCache = new PlacementCache();
 
 		// initialize default result
 		searchResult = new SearchResult();
@@ -67,6 +73,37 @@ abstract class AbstractSearch implements Search
 	public abstract SearchResult execute();
 
 
+	/**
+	 * Set the volume within search distance of the search origin, so protection plugins can fill placement masks
+	 * for the chunks of the volume in which placement checks are made, answering checks within each chunk
+	 * from a few region lookups
+	 *
+	 * @param world the world of the search
+	 * @param originX the x coordinate of the search origin
+	 * @param originY the y coordinate of the search origin
+	 * @param originZ the z coordinate of the search origin
+	 */
+	void setPlacementVolume(final World world, final int originX, final int originY, final int originZ)
+	{
+		// if no protection plugins are registered, do nothing and return
+		if (world == null || plugin.protectionPluginRegistry.getAll().isEmpty())
+		{
+			return;
+		}
+
+		// include positions of left chest blocks beside tested positions
+		final int range = searchDistance + 1;
+
+		placementCache.setVolume(world,
+				originX - range,
+				Math.max(world.getMinHeight(), originY - range),
+				originZ - range,
+				originX + range,
+				Math.min(world.getMaxHeight() - 1, originY + range),
+				originZ + range);
+	}
+
+
 	/**
 	 * Validate chest location for chest size
 	 *
@@ -126,7 +163,7 @@ abstract class AbstractSearch implements Search
 		}
 
 		// if block at location is protected by plugin, return negative result
-		ProtectionCheckResult protectionCheckResult = plugin.protectionPluginRegistry.placementAllowed(player, location);
+		ProtectionCheckResult protectionCheckResult = plugin.protectionPluginRegistry.placementAllowed(player, location, placementCache);
 		if (protectionCheckResult.getResultCode().equals(ProtectionCheckResultCode.BLOCKED))
 		{
 			searchResult.setResultCode(SearchResultCode.PROTECTION_PLUGIN);
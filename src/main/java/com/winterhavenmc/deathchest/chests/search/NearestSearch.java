@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2022 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.deathchest.chests.search;
+
+import com.winterhavenmc.deathchest.PluginMain;
+import com.winterhavenmc.deathchest.chests.ChestSize;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.entity.Player;
+
+
+/**
+ * A class that implements a search strategy for a valid chest location that tests positions in order of
+ * distance from the death location, using a precomputed offset table, and returns the nearest valid location.
+ * A single test location is reused for all positions, and positions whose block is not replaceable are rejected
+ * before the test location is updated.
+ */
+public final class NearestSearch extends AbstractSearch
+{
+	/**
+	 * Class constructor
+	 * @param plugin reference to plugin main class
+	 * @param player the player whose death triggered a death chest deployment
+	 * @param chestSize the size of chest required to accommodate the players inventory
+	 */
+	public NearestSearch(final PluginMain plugin,
+						 final Player player,
+						 final ChestSize chestSize)
+	{
+		// call superclass constructor
+		super(plugin, player, chestSize);
+	}
+
+
+	/**
+	 * Execute search algorithm
+	 */
+	@Override
+	public SearchResult execute()
+	{
+		// get player death location
+		final Location origin = player.getLocation();
+		final World world = origin.getWorld();
+
+		if (world == null)
+		{
+			return searchResult;
+		}
+
+		final int minY = world.getMinHeight();
+		final int maxY = world.getMaxHeight() - 1;
+
+		// round y to account for fractional height blocks, as in QuadrantSearch
+		int originY = origin.getBlockY() - 1;
+
+		// if player died below world min height and place-above-void configured true, start search at world min height
+		if (originY < minY)
+		{
+			if (placeAboveVoid)
+			{
+				originY = minY;
+			}
+			else
+			{
+				origin.setY(originY);
+				searchResult.setResultCode(SearchResultCode.VOID);
+				searchResult.setLocation(origin);
+				return searchResult;
+			}
+		}
+
+		// if player died above world max build height, start search at max build height
+		originY = Math.min(originY, maxY);
+
+		final int originX = origin.getBlockX();
+		final int originZ = origin.getBlockZ();
+		final float yaw = origin.getYaw();
+
+		// reusable test location
+		final Location testLocation = new Location(world, originX, originY, originZ, yaw, 0);
+
+		// get protection plugin placement results in bulk for chunks of search volume as they are checked
+		setPlacementVolume(world, originX, originY, originZ);
+
+		// test positions in order of distance from origin until a valid location is found
+		final int[] offsets = SearchOffsets.get(searchDistance);
+		for (int i = 0; i < offsets.length; i += 3)
+		{
+			final int y = originY + offsets[i + 1];
+
+			// skip positions outside world height
+			if (y < minY || y > maxY)
+			{
+				continue;
+			}
+
+			final int x = originX + offsets[i];
+			final int z = originZ + offsets[i + 2];
+
+			// reject position without creating a location if block is not replaceable
+			final Block block = world.getBlockAt(x, y, z);
+			if (!plugin.chestManager.isReplaceableBlock(block))
+			{
+				searchResult.setResultCode(SearchResultCode.NON_REPLACEABLE_BLOCK);
+				continue;
+			}
+
+			// set test location to position, facing player direction
+			testLocation.setX(x);
+			testLocation.setY(y);
+			testLocation.setZ(z);
+			testLocation.setYaw(yaw);
+
+			// get result for test location
+			searchResult = validateChestLocation(player, testLocation, chestSize);
+
+			// if test location is valid, return search result object with copy of test location
+			if (searchResult.getResultCode().equals(SearchResultCode.SUCCESS))
+			{
+				searchResult.setLocation(testLocation.clone());
+				return searchResult;
+			}
+
+			// rotate test location 90 degrees
+			testLocation.setYaw(yaw - 90);
+
+			// get result for test location
+			searchResult = validateChestLocation(player, testLocation, chestSize);
+
+			// if test location is valid, return search result object with copy of test location
+			if (searchResult.getResultCode().equals(SearchResultCode.SUCCESS))
+			{
+				searchResult.setLocation(testLocation.clone());
+				return searchResult;
+			}
+		}
+
+		// no valid location found; do not return reference to reusable test location
+		searchResult.setLocation(player.getLocation());
+		return searchResult;
+	}
+
+}
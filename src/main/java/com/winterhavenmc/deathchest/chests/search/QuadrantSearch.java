@@ -130,6 +130,9 @@ public final class QuadrantSearch extends AbstractSearch
 		// set test location to copy of origin
 		Location testLocation = origin.clone();
 
+		// get protection plugin placement results in bulk for chunks of search volume as they are checked
+		setPlacementVolume(origin.getWorld(), origin.getBlockX(), origin.getBlockY(), origin.getBlockZ());
+
 		// search all locations in vertical axis upward, then downward
 		for (VerticalAxis verticalAxis : VerticalAxis.values())
 		{
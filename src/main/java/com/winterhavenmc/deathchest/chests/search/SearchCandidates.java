@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2022 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.deathchest.chests.search;
+
+import com.winterhavenmc.deathchest.PluginMain;
+import com.winterhavenmc.deathchest.chests.ChestSize;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+
+/**
+ * A class that holds candidate chest locations ranked from a search snapshot, nearest first.
+ * Candidates have passed material checks only, and are verified on the main thread by a snapshot search.
+ */
+public final class SearchCandidates
+{
+	private final World world;
+	private final int originX;
+	private final int originY;
+	private final int originZ;
+	private final float yaw;
+
+	// packed x, y, z triples of candidate single chest and double chest locations
+	private final int[] singles;
+	private final int[] doubles;
+
+
+	/**
+	 * Class constructor
+	 *
+	 * @param world the world of the candidate locations
+	 * @param originX the x coordinate of the search origin
+	 * @param originY the y coordinate of the search origin
+	 * @param originZ the z coordinate of the search origin
+	 * @param yaw the yaw of the player at the death location
+	 * @param singles packed x, y, z triples of single chest candidates
+	 * @param doubles packed x, y, z triples of double chest candidates
+	 */
+	SearchCandidates(final World world,
+	                 final int originX, final int originY, final int originZ,
+	                 final float yaw,
+	                 final int[] singles, final int[] doubles)
+	{
+		this.world = world;
+		this.originX = originX;
+		this.originY = originY;
+		this.originZ = originZ;
+		this.yaw = yaw;
+		this.singles = singles;
+		this.doubles = doubles;
+	}
+
+
+	/**
+	 * Create a search that verifies these candidates on the main thread
+	 *
+	 * @param plugin reference to plugin main class
+	 * @param player the player whose death triggered a death chest deployment
+	 * @param chestSize the size of chest required to accommodate the players inventory
+	 * @return new instance of Search
+	 */
+	public Search createSearch(final PluginMain plugin, final Player player, final ChestSize chestSize)
+	{
+		return new SnapshotSearch(plugin, player, chestSize, this);
+	}
+
+
+	/**
+	 * Get the world of the candidate locations
+	 *
+	 * @return the world the search snapshot was captured in
+	 */
+	public World getWorld()
+	{
+		return world;
+	}
+
+
+	int getOriginX()
+	{
+		return originX;
+	}
+
+
+	int getOriginY()
+	{
+		return originY;
+	}
+
+
+	int getOriginZ()
+	{
+		return originZ;
+	}
+
+
+	float getYaw()
+	{
+		return yaw;
+	}
+
+
+	/**
+	 * Get the candidates for a chest size
+	 *
+	 * @param chestSize the chest size
+	 * @return packed x, y, z triples of candidate locations; must not be modified
+	 */
+	int[] get(final ChestSize chestSize)
+	{
+		return chestSize.equals(ChestSize.DOUBLE) ? doubles : singles;
+	}
+
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2022 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.deathchest.chests.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * A utility class that provides tables of x, y, z offsets within a search distance, sorted nearest first.
+ * Tables are computed once per search distance and shared by all searches.
+ */
+final class SearchOffsets
+{
+	// map of search distance to offset table
+	private static final Map<Integer, int[]> OFFSET_TABLES = new ConcurrentHashMap<>();
+
+
+	/**
+	 * Private constructor to prevent instantiation this class
+	 */
+	private SearchOffsets()
+	{
+		throw new AssertionError();
+	}
+
+
+	/**
+	 * Get the offset table for a search distance. The table contains x, y, z offset triples for every position
+	 * whose offsets are each less than the search distance, ordered by distance from the origin. Positions at
+	 * equal distance are ordered by least vertical offset, then upward before downward.
+	 *
+	 * @param searchDistance the search distance
+	 * @return array of packed x, y, z offset triples; must not be modified
+	 */
+	static int[] get(final int searchDistance)
+	{
+		return OFFSET_TABLES.computeIfAbsent(Math.max(1, searchDistance), SearchOffsets::compute);
+	}
+
+
+	/**
+	 * Compute the offset table for a search distance
+	 *
+	 * @param searchDistance the search distance
+	 * @return array of packed x, y, z offset triples
+	 */
+	private static int[] compute(final int searchDistance)
+	{
+		final List<int[]> offsets = new ArrayList<>();
+
+		for (int x = 1 - searchDistance; x < searchDistance; x++)
+		{
+			for (int y = 1 - searchDistance; y < searchDistance; y++)
+			{
+				for (int z = 1 - searchDistance; z < searchDistance; z++)
+				{
+					offsets.add(new int[] { x, y, z });
+				}
+			}
+		}
+
+		offsets.sort(Comparator.<int[]>comparingInt(o -> o[0] * o[0] + o[1] * o[1] + o[2] * o[2])
+				.thenComparingInt(o -> Math.abs(o[1]))
+				.thenComparingInt(o -> -o[1])
+				.thenComparingInt(o -> o[0])
+				.thenComparingInt(o -> o[2]));
+
+		final int[] table = new int[offsets.size() * 3];
+		int index = 0;
+		for (int[] offset : offsets)
+		{
+			table[index++] = offset[0];
+			table[index++] = offset[1];
+			table[index++] = offset[2];
+		}
+
+		return table;
+	}
+
+}
@@ -0,0 +1,263 @@
+/*
+ * Copyright (c) 2022 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.deathchest.chests.search;
+
+import com.winterhavenmc.deathchest.PluginMain;
+import com.winterhavenmc.deathchest.chests.LocationUtilities;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.BlockFace;
+import org.bukkit.entity.Player;
+
+import java.util.Arrays;
+import java.util.Set;
+
+
+/**
+ * A class that holds chunk snapshots of the area around a death location, so candidate chest locations
+ * can be ranked from block materials off the main thread.<br>
+ * Snapshots must be captured on the main thread. Ranking may run on any thread, and only tests
+ * materials; protection plugin and spawn radius checks are left to the main thread.
+ */
+public final class SearchSnapshot
+{
+	// maximum number of candidate locations ranked for each chest size
+	private static final int MAX_CANDIDATES = 64;
+
+	private final World world;
+	private final int originX;
+	private final int originY;
+	private final int originZ;
+	private final float yaw;
+	private final int minY;
+	private final int maxY;
+	private final int searchDistance;
+	private final Set<Material> replaceableMaterials;
+
+	// directions of the left chest block for the player yaw and for the rotated yaw
+	private final BlockFace[] leftChestFaces;
+
+	// chunk snapshots indexed by chunk x and z offset from minimum chunk coordinates; null if chunk was not loaded
+	private final int minChunkX;
+	private final int minChunkZ;
+	private final ChunkSnapshot[][] snapshots;
+
+
+	/**
+	 * Class constructor
+	 */
+	private SearchSnapshot(final World world,
+	                       final int originX,
+	                       final int originY,
+	                       final int originZ,
+	                       final float yaw,
+	                       final int searchDistance,
+	                       final Set<Material> replaceableMaterials)
+	{
+		this.world = world;
+		this.originX = originX;
+		this.originY = originY;
+		this.originZ = originZ;
+		this.yaw = yaw;
+		this.minY = world.getMinHeight();
+		this.maxY = world.getMaxHeight() - 1;
+		this.searchDistance = Math.max(1, searchDistance);
+		this.replaceableMaterials = replaceableMaterials;
+
+		// get left chest directions as used by chest validation, to player's right for each tested yaw
+		this.leftChestFaces = new BlockFace[] {
+				LocationUtilities.getCardinalBlockFace(new Location(world, 0, 0, 0, yaw - 90, 0)),
+				LocationUtilities.getCardinalBlockFace(new Location(world, 0, 0, 0, yaw - 180, 0)) };
+
+		// get range of chunks containing search area, including left chest blocks
+		final int range = this.searchDistance;
+		this.minChunkX = (originX - range) >> 4;
+		this.minChunkZ = (originZ - range) >> 4;
+		this.snapshots = new ChunkSnapshot[((originX + range) >> 4) - minChunkX + 1][((originZ + range) >> 4) - minChunkZ + 1];
+	}
+
+
+	/**
+	 * Capture chunk snapshots of the loaded chunks within search distance of a player location.
+	 * Must be called on the main thread.
+	 *
+	 * @param plugin reference to plugin main class
+	 * @param player the player whose death triggered a death chest deployment
+	 * @return the captured snapshot, or null if the player location cannot be searched
+	 */
+	public static SearchSnapshot capture(final PluginMain plugin, final Player player)
+	{
+		final Location location = player.getLocation();
+		final World world = location.getWorld();
+
+		if (world == null)
+		{
+			return null;
+		}
+
+		// start one block below the block the player died in, as the main thread searches do
+		int originY = location.getBlockY() - 1;
+
+		// if player died below world min height, start search at world min height if place-above-void configured true
+		if (originY < world.getMinHeight())
+		{
+			if (!plugin.getSettings().placeAboveVoid())
+			{
+				return null;
+			}
+			originY = world.getMinHeight();
+		}
+
+		// if player died above world max build height, start search at max build height
+		originY = Math.min(originY, world.getMaxHeight() - 1);
+
+		final SearchSnapshot searchSnapshot = new SearchSnapshot(world,
+				location.getBlockX(),
+				originY,
+				location.getBlockZ(),
+				location.getYaw(),
+				plugin.getSettings().searchDistance(),
+				plugin.chestManager.getReplaceableBlocks().getMaterials());
+
+		// capture snapshots of loaded chunks only; positions in unloaded chunks are not candidates
+		for (int i = 0; i < searchSnapshot.snapshots.length; i++)
+		{
+			for (int j = 0; j < searchSnapshot.snapshots[i].length; j++)
+			{
+				final int chunkX = searchSnapshot.minChunkX + i;
+				final int chunkZ = searchSnapshot.minChunkZ + j;
+
+				if (world.isChunkLoaded(chunkX, chunkZ))
+				{
+					searchSnapshot.snapshots[i][j] = world.getChunkAt(chunkX, chunkZ).getChunkSnapshot(false, false, false);
+				}
+			}
+		}
+
+		return searchSnapshot;
+	}
+
+
+	/**
+	 * Rank candidate chest locations in order of distance from the death location, testing only block materials.
+	 * May be called on any thread.
+	 *
+	 * @return the ranked candidate locations for single and double chests
+	 */
+	public SearchCandidates rank()
+	{
+		final int[] singles = new int[MAX_CANDIDATES * 3];
+		final int[] doubles = new int[MAX_CANDIDATES * 3];
+		int singleCount = 0;
+		int doubleCount = 0;
+
+		final int[] offsets = SearchOffsets.get(searchDistance);
+		for (int i = 0; i < offsets.length && (singleCount < MAX_CANDIDATES || doubleCount < MAX_CANDIDATES); i += 3)
+		{
+			final int x = originX + offsets[i];
+			final int y = originY + offsets[i + 1];
+			final int z = originZ + offsets[i + 2];
+
+			if (!isCandidate(x, y, z))
+			{
+				continue;
+			}
+
+			if (singleCount < MAX_CANDIDATES)
+			{
+				singleCount = add(singles, singleCount, x, y, z);
+			}
+
+			if (doubleCount < MAX_CANDIDATES && hasLeftChestCandidate(x, y, z))
+			{
+				doubleCount = add(doubles, doubleCount, x, y, z);
+			}
+		}
+
+		return new SearchCandidates(world, originX, originY, originZ, yaw,
+				Arrays.copyOf(singles, singleCount * 3),
+				Arrays.copyOf(doubles, doubleCount * 3));
+	}
+
+
+	/**
+	 * Test if a left chest could be placed beside a candidate position for either tested yaw
+	 */
+	private boolean hasLeftChestCandidate(final int x, final int y, final int z)
+	{
+		for (BlockFace face : leftChestFaces)
+		{
+			if (isCandidate(x + face.getModX(), y, z + face.getModZ()))
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+
+
+	/**
+	 * Test if a position is replaceable and not above a path block, from snapshot materials
+	 */
+	private boolean isCandidate(final int x, final int y, final int z)
+	{
+		if (y < minY || y > maxY)
+		{
+			return false;
+		}
+
+		final Material material = getType(x, y, z);
+		if (material == null || !replaceableMaterials.contains(material))
+		{
+			return false;
+		}
+
+		return y == minY || !LocationUtilities.isPathMaterial(getType(x, y - 1, z));
+	}
+
+
+	/**
+	 * Get the material at a position from the chunk snapshots
+	 *
+	 * @return the material, or null if the position is outside the captured chunks
+	 */
+	private Material getType(final int x, final int y, final int z)
+	{
+		final int i = (x >> 4) - minChunkX;
+		final int j = (z >> 4) - minChunkZ;
+
+		if (i < 0 || j < 0 || i >= snapshots.length || j >= snapshots[i].length || snapshots[i][j] == null)
+		{
+			return null;
+		}
+
+		return snapshots[i][j].getBlockType(x & 15, y, z & 15);
+	}
+
+
+	private static int add(final int[] candidates, final int count, final int x, final int y, final int z)
+	{
+		candidates[count * 3] = x;
+		candidates[count * 3 + 1] = y;
+		candidates[count * 3 + 2] = z;
+		return count + 1;
+	}
+
+}
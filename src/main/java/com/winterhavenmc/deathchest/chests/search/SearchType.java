@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2022 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.deathchest.chests.search;
+
+import com.winterhavenmc.deathchest.PluginMain;
+import com.winterhavenmc.deathchest.chests.ChestSize;
+import org.bukkit.entity.Player;
+
+
+/**
+ * An enum whose values represent the search strategies available for finding a valid chest location
+ */
+public enum SearchType
+{
+	QUADRANT
+			{
+				@Override
+				public Search create(final PluginMain plugin, final Player player, final ChestSize chestSize)
+				{
+					return new QuadrantSearch(plugin, player, chestSize);
+				}
+			},
+
+	NEAREST
+			{
+				@Override
+				public Search create(final PluginMain plugin, final Player player, final ChestSize chestSize)
+				{
+					return new NearestSearch(plugin, player, chestSize);
+				}
+			},
+
+	SNAPSHOT
+			{
+				// candidates are ranked from chunk snapshots before deployment and searched by SearchCandidates;
+				// a search created without candidates tests nearest locations on the main thread
+				@Override
+				public Search create(final PluginMain plugin, final Player player, final ChestSize chestSize)
+				{
+					return new NearestSearch(plugin, player, chestSize);
+				}
+			};
+
+	private final static SearchType defaultType = SearchType.QUADRANT;
+
+
+	/**
+	 * Get new instance of Search of this type
+	 *
+	 * @param plugin reference to plugin main class
+	 * @param player the player whose death triggered a death chest deployment
+	 * @param chestSize the size of chest required to accommodate the players inventory
+	 * @return new instance of Search
+	 */
+	public abstract Search create(final PluginMain plugin, final Player player, final ChestSize chestSize);
+
+
+	/**
+	 * Attempt to match a SearchType by name
+	 *
+	 * @param name the name to attempt to match to a SearchType
+	 * @return A SearchType whose name matched the passed string,
+	 * or the default SearchType if no match
+	 */
+	public static SearchType match(final String name)
+	{
+		for (SearchType type : SearchType.values())
+		{
+			if (type.name().equalsIgnoreCase(name))
+			{
+				return type;
+			}
+		}
+		// no match; return default type
+		return defaultType;
+	}
+
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2022 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.deathchest.chests.search;
+
+import com.winterhavenmc.deathchest.PluginMain;
+import com.winterhavenmc.deathchest.chests.ChestSize;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+
+
+/**
+ * A class that implements a search strategy that verifies candidate chest locations ranked off the main thread
+ * from chunk snapshots. Candidates are tested nearest first against the live world, including protection plugin
+ * and spawn radius checks, and the first valid location is returned. If no ranked candidate is valid, the search
+ * falls back to the configured synchronous search, since only a limited number of candidates are ranked.
+ */
+final class SnapshotSearch extends AbstractSearch
+{
+	private final SearchCandidates searchCandidates;
+
+
+	/**
+	 * Class constructor
+	 * @param plugin reference to plugin main class
+	 * @param player the player whose death triggered a death chest deployment
+	 * @param chestSize the size of chest required to accommodate the players inventory
+	 * @param searchCandidates the ranked candidate locations
+	 */
+	SnapshotSearch(final PluginMain plugin,
+	               final Player player,
+	               final ChestSize chestSize,
+	               final SearchCandidates searchCandidates)
+	{
+		// call superclass constructor
+		super(plugin, player, chestSize);
+		this.searchCandidates = searchCandidates;
+	}
+
+
+	/**
+	 * Execute search algorithm
+	 */
+	@Override
+	public SearchResult execute()
+	{
+		final float yaw = searchCandidates.getYaw();
+
+		// reusable test location
+		final Location testLocation = new Location(searchCandidates.getWorld(), 0, 0, 0, yaw, 0);
+
+		// get protection plugin placement results in bulk for chunks of search volume as they are checked
+		setPlacementVolume(searchCandidates.getWorld(),
+				searchCandidates.getOriginX(), searchCandidates.getOriginY(), searchCandidates.getOriginZ());
+
+		// verify candidate positions in ranked order until a valid location is found
+		final int[] candidates = searchCandidates.get(chestSize);
+		for (int i = 0; i < candidates.length; i += 3)
+		{
+			// set test location to candidate position, facing player direction
+			testLocation.setX(candidates[i]);
+			testLocation.setY(candidates[i + 1]);
+			testLocation.setZ(candidates[i + 2]);
+			testLocation.setYaw(yaw);
+
+			// get result for test location
+			searchResult = validateChestLocation(player, testLocation, chestSize);
+
+			// if test location is valid, return search result object with copy of test location
+			if (searchResult.getResultCode().equals(SearchResultCode.SUCCESS))
+			{
+				searchResult.setLocation(testLocation.clone());
+				return searchResult;
+			}
+
+			// rotate test location 90 degrees
+			testLocation.setYaw(yaw - 90);
+
+			// get result for test location
+			searchResult = validateChestLocation(player, testLocation, chestSize);
+
+			// if test location is valid, return search result object with copy of test location
+			if (searchResult.getResultCode().equals(SearchResultCode.SUCCESS))
+			{
+				searchResult.setLocation(testLocation.clone());
+				return searchResult;
+			}
+		}
+
+		// ranked candidates exhausted without a valid location; search live world with configured search type
+		return plugin.getSettings().searchType().create(plugin, player, chestSize).execute();
+	}
+
+}
@@ -84,14 +84,8 @@ final class ListCommand extends SubcommandAbstract
 		{
 			if (sender.hasPermission("deathchest.list.other"))
 			{
-				// get map of chest ownerUUID,name from all current chests
-				Map<UUID, String> chestOwners = new HashMap<>();
-				for (DeathChestRecord deathChest : plugin.chestManager.getAllChests())
-				{
-					chestOwners.put(deathChest.ownerUid(),
-							plugin.getServer().getOfflinePlayer(deathChest.ownerUid()).getName());
-				}
-				returnList.addAll(chestOwners.values());
+				// get names of current chest owners that match partial name from chest owner name index
+				returnList.addAll(plugin.chestManager.getChestOwnerNames(args[1]));
 			}
 		}
 
@@ -134,7 +128,7 @@ final class ListCommand extends SubcommandAbstract
 			// if sender is a player, add all of player's chests to display list
 			if (sender instanceof Player player)
 			{
-				displayRecords = getChestsForPlayer(player);
+				displayRecords = new ArrayList<>(plugin.chestManager.getChestsByOwner(player.getUniqueId()));
 				displayNames = false;
 			}
 			// else add all chests to display list
@@ -156,13 +150,7 @@ final class ListCommand extends SubcommandAbstract
 				// else match chest records to entered target player name prefix
 				else
 				{
-					for (DeathChestRecord deathChest : plugin.chestManager.getAllChests())
-					{
-						if (deathChest.ownerName().toLowerCase().startsWith(passedPlayerName.toLowerCase()))
-						{
-							displayRecords.add(deathChest);
-						}
-					}
+					displayRecords = plugin.chestManager.getChestsByOwnerName(passedPlayerName);
 				}
 			}
 
@@ -249,21 +237,6 @@ final class ListCommand extends SubcommandAbstract
 	}
 
 
-	private List<DeathChestRecord> getChestsForPlayer(final Player player)
-	{
-		List<DeathChestRecord> returnList = new ArrayList<>();
-
-		for (DeathChestRecord deathChest : plugin.chestManager.getAllChests())
-		{
-			if (deathChest.ownerUid().equals(player.getUniqueId()))
-			{
-				returnList.add(deathChest);
-			}
-		}
-		return returnList;
-	}
-
-
 	private void displayListHeader(final CommandSender sender, final int page, final int pageCount)
 	{
 		// display list header
@@ -66,6 +66,9 @@ final class ReloadCommand extends SubcommandAbstract
 		// reload config file
 		plugin.reloadConfig();
 
+		// replace settings snapshot
+		plugin.loadSettings();
+
 		// update enabledWorlds list
 		plugin.worldManager.reload();
 
@@ -78,6 +81,12 @@ final class ReloadCommand extends SubcommandAbstract
 		// reload ChestManager
 		plugin.chestManager.reload();
 
+		// register or unregister feature event listeners
+		plugin.listenerManager.reload();
+
+		// clear cached protection plugin access checks
+		plugin.protectionPluginRegistry.reload();
+
 		// send success message
 		plugin.messageBuilder.compose(sender, MessageId.COMMAND_SUCCESS_RELOAD).send();
 
@@ -21,6 +21,7 @@ import com.winterhavenmc.deathchest.PluginMain;
 import com.winterhavenmc.deathchest.messages.Macro;
 import com.winterhavenmc.deathchest.messages.MessageId;
 import com.winterhavenmc.deathchest.permissions.protectionplugins.ProtectionPlugin;
+import com.winterhavenmc.deathchest.permissions.protectionplugins.ProtectionPluginStats;
 import com.winterhavenmc.deathchest.sounds.SoundId;
 import com.winterhavenmc.library.messagebuilder.pipeline.formatters.duration.BoundedDuration;
 import org.bukkit.ChatColor;
@@ -74,6 +75,8 @@ final class StatusCommand extends SubcommandAbstract
 		displayQuickLoot(sender);
 		displayKillerLooting(sender);
 		displayProtectionPlugins(sender);
+		displayDataStore(sender);
+		displayExpirationQueue(sender);
 		displayEnabledWorlds(sender);
 		displayReplaceableBlocks(sender);
 		displayStatusFooter(sender);
@@ -109,7 +112,7 @@ final class StatusCommand extends SubcommandAbstract
 
 	private void displayDebugSetting(final CommandSender sender)
 	{
-		if (plugin.getConfig().getBoolean("debug"))
+		if (plugin.getSettings().debug())
 		{
 			sender.sendMessage(ChatColor.DARK_RED + "DEBUG: true");
 		}
@@ -200,6 +203,30 @@ final class StatusCommand extends SubcommandAbstract
 	}
 
 
+	private void displayDataStore(final CommandSender sender)
+	{
+		sender.sendMessage(ChatColor.GREEN + "Datastore: " + ChatColor.RESET
+				+ plugin.chestManager.getDataStoreType()
+				+ " (WAL size: " + plugin.chestManager.getDataStoreWalSize() / 1024 + " KiB)");
+
+		if (plugin.getSettings().lazyChestLoading())
+		{
+			sender.sendMessage(ChatColor.GREEN + "Lazy Chest Loading: " + ChatColor.RESET
+					+ plugin.chestManager.getPendingChunkCount() + " chunks pending");
+		}
+	}
+
+
+	private void displayExpirationQueue(final CommandSender sender)
+	{
+		sender.sendMessage(ChatColor.GREEN + "Expiration Queue: " + ChatColor.RESET
+				+ plugin.chestManager.getScheduledExpirationCount() + " scheduled, "
+				+ plugin.chestManager.getPendingWorkCount() + " pending ("
+				+ plugin.chestManager.getPendingWorkLagMillis() + " ms lag), "
+				+ plugin.chestManager.getDeferredOperationCount() + " deferred to chunk load");
+	}
+
+
 	private void displayEnabledWorlds(final CommandSender sender)
 	{
 		plugin.messageBuilder.compose(sender, MessageId.COMMAND_STATUS_ENABLED_WORLDS)
@@ -216,6 +243,41 @@ final class StatusCommand extends SubcommandAbstract
 	}
 
 
+	private void displayProtectionPluginStats(final CommandSender sender, final ProtectionPluginStats stats)
+	{
+		final long[] bucketBounds = ProtectionPluginStats.getBucketBoundsMicros();
+
+		for (ProtectionPluginStats.CheckType checkType : ProtectionPluginStats.CheckType.values())
+		{
+			if (stats.getCallCount(checkType) == 0)
+			{
+				continue;
+			}
+
+			// format latency histogram as bucket upper bound and count pairs
+			final long[] histogram = stats.getHistogram(checkType);
+			final StringJoiner histogramString = new StringJoiner(" ");
+			for (int i = 0; i < histogram.length; i++)
+			{
+				final String bound = (i < bucketBounds.length) ? "<" + bucketBounds[i] + "\u00b5s" : "\u2265" + bucketBounds[i - 1] + "\u00b5s";
+				histogramString.add(bound + ":" + histogram[i]);
+			}
+
+			sender.sendMessage(ChatColor.DARK_AQUA + "    " + checkType.name().toLowerCase() + ": " + ChatColor.RESET
+					+ stats.getCallCount(checkType) + " calls, "
+					+ stats.getErrorCount(checkType) + " errors, "
+					+ String.format("mean %.2f ms, max %.2f ms", stats.getMeanMillis(checkType), stats.getMaxMillis(checkType))
+					+ " [" + histogramString + "]");
+		}
+
+		if (stats.getTripCount() > 0)
+		{
+			sender.sendMessage(ChatColor.DARK_AQUA + "    circuit breaker: " + ChatColor.RESET
+					+ stats.getTripCount() + " trips");
+		}
+	}
+
+
 	private void displayProtectionPlugins(final CommandSender sender)
 	{
 		plugin.messageBuilder.compose(sender, MessageId.COMMAND_STATUS_PROTECTION_PLUGINS).send();
@@ -245,8 +307,13 @@ final class StatusCommand extends SubcommandAbstract
 			{
 				pluginSettings.add("comply on access");
 			}
+			if (plugin.protectionPluginRegistry.isSuspended(protectionPlugin))
+			{
+				pluginSettings.add("suspended for " + protectionPlugin.getStats().getOpenSecondsRemaining() + "s");
+			}
 			statusString = statusString + ChatColor.RESET + pluginSettings;
 			sender.sendMessage(statusString);
+			displayProtectionPluginStats(sender, protectionPlugin.getStats());
 		}
 		if (count == 0)
 		{
@@ -31,13 +31,7 @@ import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.block.BlockBreakEvent;
-import org.bukkit.event.block.BlockExplodeEvent;
-import org.bukkit.event.block.BlockPhysicsEvent;
 import org.bukkit.event.block.BlockPlaceEvent;
-import org.bukkit.event.entity.EntityExplodeEvent;
-
-import java.util.Collection;
-import java.util.LinkedList;
 
 
 /**
@@ -125,84 +119,4 @@ public final class BlockEventListener implements Listener
 		permissionCheck.performChecks(event, player, deathChest, breakChestAction);
 	}
 
-
-	/**
-	 * Entity explode event handler<br>
-	 * Make death chests explosion proof if chest-protection is enabled
-	 *
-	 * @param event the event being handled by this method
-	 */
-	@EventHandler
-	public void onEntityExplode(final EntityExplodeEvent event)
-	{
-		// if chest-protection is not enabled in config, do nothing and return
-		if (!plugin.getConfig().getBoolean("chest-protection"))
-		{
-			return;
-		}
-
-		// iterate through all blocks in explosion event and remove those that are DeathChest chests or signs
-		Collection<Block> blocks = new LinkedList<>(event.blockList());
-		for (Block block : blocks)
-		{
-			if (plugin.chestManager.isChestBlock(block))
-			{
-				// remove death chest block from blocks exploded list if protection has not expired
-				DeathChestRecord deathChest = plugin.chestManager.getChest(block);
-				if (deathChest != null && !plugin.chestManager.protectionExpired(deathChest))
-				{
-					event.blockList().remove(block);
-				}
-			}
-		}
-	}
-
-
-	/**
-	 * Block explode event handler<br>
-	 * Make death chests explosion proof if chest-protection is enabled
-	 *
-	 * @param event the event being handled by this method
-	 */
-	@EventHandler
-	public void onBlockExplode(final BlockExplodeEvent event)
-	{
-		// if chest-protection is not enabled in config, do nothing and return
-		if (!plugin.getConfig().getBoolean("chest-protection"))
-		{
-			return;
-		}
-
-		// iterate through all blocks in explosion event and remove those that are DeathChest chests or signs
-		Collection<Block> blocks = new LinkedList<>(event.blockList());
-		for (Block block : blocks) {
-			if (plugin.chestManager.isChestBlock(block))
-			{
-				// remove death chest block from blocks exploded list if protection has not expired
-				DeathChestRecord deathChest = plugin.chestManager.getChest(block);
-				if (deathChest != null && !plugin.chestManager.protectionExpired(deathChest))
-				{
-					event.blockList().remove(block);
-				}
-			}
-		}
-	}
-
-
-	/**
-	 * Block physics event handler<br>
-	 * remove detached death chest signs from game to prevent players gaining additional signs
-	 *
-	 * @param event the event being handled by this method
-	 */
-	@EventHandler
-	public void signDetachCheck(final BlockPhysicsEvent event)
-	{
-		// if event block is a DeathChest component, cancel event
-		if (plugin.chestManager.isChestBlockSign(event.getBlock()))
-		{
-			event.setCancelled(true);
-		}
-	}
-
 }
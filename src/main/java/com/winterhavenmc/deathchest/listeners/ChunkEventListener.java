@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2022 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.deathchest.listeners;
+
+import com.winterhavenmc.deathchest.PluginMain;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.ChunkLoadEvent;
+
+
+/**
+ * A class that contains {@code EventHandler} methods to process chunk related events
+ */
+public final class ChunkEventListener implements Listener
+{
+	// reference to main class
+	private final PluginMain plugin;
+
+
+	/**
+	 * class constructor
+	 *
+	 * @param plugin reference to main class
+	 */
+	public ChunkEventListener(final PluginMain plugin)
+	{
+		// set reference to main class
+		this.plugin = plugin;
+
+		// register event handlers in this class
+		plugin.getServer().getPluginManager().registerEvents(this, plugin);
+	}
+
+
+	/**
+	 * Chunk load event handler<br>
+	 * Validates death chest blocks in the loaded chunk, if their validation was deferred by lazy chest loading
+	 *
+	 * @param event the event being handled by this method
+	 */
+	@EventHandler(priority = EventPriority.MONITOR)
+	public void onChunkLoad(final ChunkLoadEvent event)
+	{
+		// new chunks cannot contain death chests
+		if (event.isNewChunk())
+		{
+			return;
+		}
+
+		plugin.chestManager.loadChunk(event.getChunk());
+	}
+
+}
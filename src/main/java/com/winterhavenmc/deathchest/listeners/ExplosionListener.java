@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2022 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+
+package com.winterhavenmc.deathchest.listeners;
+
+import com.winterhavenmc.deathchest.PluginMain;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.block.BlockExplodeEvent;
+import org.bukkit.event.entity.EntityExplodeEvent;
+
+
+/**
+ * A class that contains {@code EventHandler} methods to make death chests explosion proof.
+ * The listener is only registered while chest protection is enabled in the config.
+ */
+final class ExplosionListener extends FeatureListener
+{
+	/**
+	 * Class constructor
+	 *
+	 * @param plugin reference to main class
+	 */
+	ExplosionListener(final PluginMain plugin)
+	{
+		super(plugin);
+	}
+
+
+	@Override
+	boolean isEnabled()
+	{
+		return plugin.getSettings().chestProtection();
+	}
+
+
+	/**
+	 * Entity explode event handler<br>
+	 * Make death chests explosion proof if chest-protection is enabled
+	 *
+	 * @param event the event being handled by this method
+	 */
+	@EventHandler
+	public void onEntityExplode(final EntityExplodeEvent event)
+	{
+		// remove blocks in explosion event that are protected DeathChest chests or signs
+		plugin.chestManager.removeProtectedBlocks(event.blockList());
+	}
+
+
+	/**
+	 * Block explode event handler<br>
+	 * Make death chests explosion proof if chest-protection is enabled
+	 *
+	 * @param event the event being handled by this method
+	 */
+	@EventHandler
+	public void onBlockExplode(final BlockExplodeEvent event)
+	{
+		// remove blocks in explosion event that are protected DeathChest chests or signs
+		plugin.chestManager.removeProtectedBlocks(event.blockList());
+	}
+
+}
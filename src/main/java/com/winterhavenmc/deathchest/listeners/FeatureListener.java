@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2022 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+
+package com.winterhavenmc.deathchest.listeners;
+
+import com.winterhavenmc.deathchest.PluginMain;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+
+
+/**
+ * A listener for a feature that can be disabled in the config. Event handlers in the listener are only
+ * registered while the feature is enabled, so events are not dispatched to handlers that have nothing to do.
+ */
+abstract class FeatureListener implements Listener
+{
+	// reference to main class
+	protected final PluginMain plugin;
+
+
+	/**
+	 * Class constructor
+	 *
+	 * @param plugin reference to main class
+	 */
+	FeatureListener(final PluginMain plugin)
+	{
+		this.plugin = plugin;
+	}
+
+
+	/**
+	 * Check if the feature handled by this listener is enabled in the current settings
+	 *
+	 * @return boolean - true if the event handlers in this listener should be registered, false if not
+	 */
+	abstract boolean isEnabled();
+
+
+	/**
+	 * Register or unregister event handlers in this class to match the current settings
+	 */
+	void reload()
+	{
+		// unregister event handlers in this class
+		HandlerList.unregisterAll(this);
+
+		// register event handlers in this class if feature is enabled
+		if (isEnabled())
+		{
+			plugin.getServer().getPluginManager().registerEvents(this, plugin);
+		}
+	}
+
+}
@@ -29,8 +29,6 @@ import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.*;
 import org.bukkit.inventory.Inventory;
 
-import java.util.Set;
-
 
 /**
  * A class that contains {@code EventHandler} methods to process inventory related events
@@ -44,12 +42,6 @@ public final class InventoryEventListener implements Listener
 	// reference to permissionCheck class
 	private final PermissionCheck permissionCheck;
 
-	private final Set<InventoryAction> inventoryPlaceActions = Set.of(
-			InventoryAction.PLACE_ALL,
-			InventoryAction.PLACE_SOME,
-			InventoryAction.PLACE_ONE,
-			InventoryAction.SWAP_WITH_CURSOR);
-
 
 	/**
 	 * class constructor
@@ -96,7 +88,7 @@ public final class InventoryEventListener implements Listener
 		}
 
 		// if access is blocked by a protection plugin, do nothing and return (allow protection plugin to handle event)
-		ProtectionCheckResult protectionCheckResult = plugin.protectionPluginRegistry.accessAllowed(player, deathChest.getLocation());
+		ProtectionCheckResult protectionCheckResult = plugin.protectionPluginRegistry.accessAllowed(player, deathChest.chestUid(), deathChest.getLocation());
 
 		if (permissionCheck.isPluginBlockingAccess(protectionCheckResult))
 		{
@@ -138,130 +130,17 @@ public final class InventoryEventListener implements Listener
 
 
 	/**
-	 * Prevent hoppers from removing or inserting items in death chests
+	 * Prevent hoppers from removing items from death chests
 	 *
 	 * @param event the event being handled by this method
 	 */
 	@EventHandler(ignoreCancelled = true)
 	public void onInventoryMoveItem(final InventoryMoveItemEvent event)
 	{
-		// get inventories involved in event
-		final Inventory destination = event.getDestination();
-		final Inventory source = event.getSource();
-
 		// prevent extracting items from death chest using hopper
-		if (plugin.chestManager.isDeathChestInventory(source))
+		if (plugin.chestManager.isDeathChestInventory(event.getSource()))
 		{
 			event.setCancelled(true);
-			return;
-		}
-
-		// prevent inserting items into death chest using hopper if prevent-item-placement configured true
-		if (plugin.getConfig().getBoolean("prevent-item-placement"))
-		{
-
-			// if destination inventory is a death chest, cancel event and return
-			if (plugin.chestManager.isDeathChestInventory(destination))
-			{
-				event.setCancelled(true);
-			}
-		}
-	}
-
-
-	/**
-	 * Prevent placing items in death chests if configured
-	 *
-	 * @param event the event being handled by this method
-	 */
-	@EventHandler(ignoreCancelled = true)
-	public void onInventoryClick(final InventoryClickEvent event)
-	{
-		// if prevent-item-placement is configured false, do nothing and return
-		if (!plugin.getConfig().getBoolean("prevent-item-placement"))
-		{
-			return;
-		}
-
-		final Inventory inventory = event.getInventory();
-		final InventoryAction action = event.getAction();
-
-		// if inventory is a death chest inventory
-		if (plugin.chestManager.isDeathChestInventory(inventory))
-		{
-
-			// if click action is place, test for chest slots
-			if (inventoryPlaceActions.contains(action))
-			{
-
-				// if slot is in chest inventory area, check for player override permission
-				if (event.getRawSlot() < inventory.getSize())
-				{
-
-					// if player does not have allow-place permission, cancel event
-					if (!event.getWhoClicked().hasPermission("deathchest.allow-place"))
-					{
-						event.setCancelled(true);
-					}
-				}
-				return;
-			}
-
-			// prevent shift-click transfer to death chest
-			if (action.equals(InventoryAction.MOVE_TO_OTHER_INVENTORY))
-			{
-
-				if (event.getRawSlot() >= inventory.getSize())
-				{
-
-					// if player does not have allow-place permission, cancel event
-					if (!event.getWhoClicked().hasPermission("deathchest.allow-place"))
-					{
-						event.setCancelled(true);
-					}
-				}
-			}
-		}
-	}
-
-
-	/**
-	 * Prevent placing items in death chests if configured
-	 *
-	 * @param event the event being handled by this method
-	 */
-	@EventHandler(ignoreCancelled = true)
-	public void onInventoryDrag(final InventoryDragEvent event)
-	{
-		// get inventory from event
-		final Inventory inventory = event.getInventory();
-
-		// if inventory is not a death chest inventory, do nothing and return
-		if (!plugin.chestManager.isDeathChestInventory(inventory))
-		{
-			return;
-		}
-
-		// if prevent-item-placement is configured false, do nothing and return
-		if (!plugin.getConfig().getBoolean("prevent-item-placement"))
-		{
-			return;
-		}
-
-		// if player has allow-place permission, do nothing and return
-		if (event.getWhoClicked().hasPermission("deathchest.allow-place"))
-		{
-			return;
-		}
-
-		// iterate over dragged slots and if any are above max slot, cancel event
-		for (int slot : event.getRawSlots())
-		{
-			if (slot < inventory.getSize())
-			{
-				event.setCancelled(true);
-				break;
-			}
 		}
 	}
 
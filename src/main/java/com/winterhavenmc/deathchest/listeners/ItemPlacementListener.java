@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2022 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+
+package com.winterhavenmc.deathchest.listeners;
+
+import com.winterhavenmc.deathchest.PluginMain;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.inventory.InventoryAction;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryDragEvent;
+import org.bukkit.event.inventory.InventoryMoveItemEvent;
+import org.bukkit.inventory.Inventory;
+
+import java.util.Set;
+
+
+/**
+ * A class that contains {@code EventHandler} methods to prevent players from placing items in death chests.
+ * The listener is only registered while prevent-item-placement is enabled in the config.
+ */
+final class ItemPlacementListener extends FeatureListener
+{
+	private final Set<InventoryAction> inventoryPlaceActions = Set.of(
+			InventoryAction.PLACE_ALL,
+			InventoryAction.PLACE_SOME,
+			InventoryAction.PLACE_ONE,
+			InventoryAction.SWAP_WITH_CURSOR);
+
+
+	/**
+	 * Class constructor
+	 *
+	 * @param plugin reference to main class
+	 */
+	ItemPlacementListener(final PluginMain plugin)
+	{
+		super(plugin);
+	}
+
+
+	@Override
+	boolean isEnabled()
+	{
+		return plugin.getSettings().preventItemPlacement();
+	}
+
+
+	/**
+	 * Prevent placing items in death chests if configured
+	 *
+	 * @param event the event being handled by this method
+	 */
+	@EventHandler(ignoreCancelled = true)
+	public void onInventoryClick(final InventoryClickEvent event)
+	{
+		final Inventory inventory = event.getInventory();
+		final InventoryAction action = event.getAction();
+
+		// if inventory is a death chest inventory
+		if (plugin.chestManager.isDeathChestInventory(inventory))
+		{
+
+			// if click action is place, test for chest slots
+			if (inventoryPlaceActions.contains(action))
+			{
+
+				// if slot is in chest inventory area, check for player override permission
+				if (event.getRawSlot() < inventory.getSize())
+				{
+
+					// if player does not have allow-place permission, cancel event
+					if (!event.getWhoClicked().hasPermission("deathchest.allow-place"))
+					{
+						event.setCancelled(true);
+					}
+				}
+				return;
+			}
+
+			// prevent shift-click transfer to death chest
+			if (action.equals(InventoryAction.MOVE_TO_OTHER_INVENTORY))
+			{
+
+				if (event.getRawSlot() >= inventory.getSize())
+				{
+
+					// if player does not have allow-place permission, cancel event
+					if (!event.getWhoClicked().hasPermission("deathchest.allow-place"))
+					{
+						event.setCancelled(true);
+					}
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * Prevent placing items in death chests if configured
+	 *
+	 * @param event the event being handled by this method
+	 */
+	@EventHandler(ignoreCancelled = true)
+	public void onInventoryDrag(final InventoryDragEvent event)
+	{
+		// get inventory from event
+		final Inventory inventory = event.getInventory();
+
+		// if inventory is not a death chest inventory, do nothing and return
+		if (!plugin.chestManager.isDeathChestInventory(inventory))
+		{
+			return;
+		}
+
+		// if player has allow-place permission, do nothing and return
+		if (event.getWhoClicked().hasPermission("deathchest.allow-place"))
+		{
+			return;
+		}
+
+		// iterate over dragged slots and if any are above max slot, cancel event
+		for (int slot : event.getRawSlots())
+		{
+			if (slot < inventory.getSize())
+			{
+				event.setCancelled(true);
+				break;
+			}
+		}
+	}
+
+
+	/**
+	 * Prevent hoppers from inserting items in death chests if configured
+	 *
+	 * @param event the event being handled by this method
+	 */
+	@EventHandler(ignoreCancelled = true)
+	public void onInventoryMoveItem(final InventoryMoveItemEvent event)
+	{
+		// if destination inventory is a death chest, cancel event
+		if (plugin.chestManager.isDeathChestInventory(event.getDestination()))
+		{
+			event.setCancelled(true);
+		}
+	}
+
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2022 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+
+package com.winterhavenmc.deathchest.listeners;
+
+import com.winterhavenmc.deathchest.PluginMain;
+
+import java.util.List;
+
+
+/**
+ * A class that creates the plugin event listeners, and registers or unregisters the listeners
+ * for features that can be disabled in the config to match the current settings
+ */
+public final class ListenerManager
+{
+	// listeners for features that can be disabled in the config
+	private final List<FeatureListener> featureListeners;
+
+
+	/**
+	 * Class constructor
+	 *
+	 * @param plugin reference to main class
+	 */
+	public ListenerManager(final PluginMain plugin)
+	{
+		// initialize event listeners that are always registered
+		new PlayerEventListener(plugin);
+		new BlockEventListener(plugin);
+		new InventoryEventListener(plugin);
+		new ChunkEventListener(plugin);
+		new WorldEventListener(plugin);
+
+		// initialize event listeners for features that can be disabled in the config
+		this.featureListeners = List.of(
+				new ExplosionListener(plugin),
+				new ItemPlacementListener(plugin),
+				new SignDetachListener(plugin));
+
+		// register feature event listeners that are enabled
+		reload();
+	}
+
+
+	/**
+	 * Register or unregister feature event listeners to match the current settings
+	 */
+	public void reload()
+	{
+		for (FeatureListener featureListener : featureListeners)
+		{
+			featureListener.reload();
+		}
+	}
+
+}
@@ -129,7 +129,7 @@ public final class PlayerEventListener implements Listener
 		}
 
 		// if configured true, output player inventory to log
-		if (plugin.getConfig().getBoolean("log-inventory-on-death"))
+		if (plugin.getSettings().logInventoryOnDeath())
 		{
 			plugin.getLogger().info(player.getDisplayName() + " death inventory:");
 			plugin.getLogger().info(event.getDrops().toString());
@@ -143,7 +143,7 @@ public final class PlayerEventListener implements Listener
 
 		// deploy DeathChest after configured delay
 		new DeployChestTask(plugin, player, droppedItems)
-				.runTaskLater(plugin, plugin.getConfig().getInt("chest-deployment-delay"));
+				.runTaskLater(plugin, plugin.getSettings().chestDeploymentDelay());
 	}
 
 
@@ -195,7 +195,7 @@ public final class PlayerEventListener implements Listener
 	{
 		return (event.getAction().equals(Action.LEFT_CLICK_BLOCK) || event.getAction().equals(Action.RIGHT_CLICK_BLOCK))
 				&& player.isSneaking()
-				&& plugin.getConfig().getBoolean("quick-loot")
+				&& plugin.getSettings().quickLoot()
 				&& player.hasPermission("deathchest.loot");
 	}
 
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2022 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+
+package com.winterhavenmc.deathchest.listeners;
+
+import com.winterhavenmc.deathchest.PluginMain;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.block.BlockPhysicsEvent;
+
+
+/**
+ * A class that contains an {@code EventHandler} method to prevent death chest signs from detaching.
+ * The listener is only registered while chest signs are enabled in the config.
+ */
+final class SignDetachListener extends FeatureListener
+{
+	/**
+	 * Class constructor
+	 *
+	 * @param plugin reference to main class
+	 */
+	SignDetachListener(final PluginMain plugin)
+	{
+		super(plugin);
+	}
+
+
+	@Override
+	boolean isEnabled()
+	{
+		return plugin.getSettings().chestSigns();
+	}
+
+
+	/**
+	 * Block physics event handler<br>
+	 * remove detached death chest signs from game to prevent players gaining additional signs
+	 *
+	 * @param event the event being handled by this method
+	 */
+	@EventHandler
+	public void signDetachCheck(final BlockPhysicsEvent event)
+	{
+		// if event block is a DeathChest sign, cancel event
+		if (plugin.chestManager.isChestBlockSign(event.getBlock()))
+		{
+			event.setCancelled(true);
+		}
+	}
+
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2022 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.deathchest.listeners;
+
+import com.winterhavenmc.deathchest.PluginMain;
+import com.winterhavenmc.deathchest.chests.WorldId;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.WorldLoadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+
+import java.util.UUID;
+
+
+/**
+ * A class that contains {@code EventHandler} methods to process world related events
+ */
+public final class WorldEventListener implements Listener
+{
+	// reference to main class
+	private final PluginMain plugin;
+
+
+	/**
+	 * class constructor
+	 *
+	 * @param plugin reference to main class
+	 */
+	public WorldEventListener(final PluginMain plugin)
+	{
+		// set reference to main class
+		this.plugin = plugin;
+
+		// register event handlers in this class
+		plugin.getServer().getPluginManager().registerEvents(this, plugin);
+	}
+
+
+	/**
+	 * World load event handler<br>
+	 * Clears any cached world for the loaded world uid, so chest blocks resolve the newly loaded world
+	 *
+	 * @param event the event being handled by this method
+	 */
+	@EventHandler(priority = EventPriority.MONITOR)
+	public void onWorldLoad(final WorldLoadEvent event)
+	{
+		WorldId.invalidate(event.getWorld().getUID());
+	}
+
+
+	/**
+	 * World unload event handler<br>
+	 * Clears the cached world for the unloaded world uid, so chest blocks do not hold a reference to an unloaded world.
+	 * The cache is cleared again on the next tick, after the world has been removed from the server.
+	 *
+	 * @param event the event being handled by this method
+	 */
+	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+	public void onWorldUnload(final WorldUnloadEvent event)
+	{
+		final UUID worldUid = event.getWorld().getUID();
+
+		WorldId.invalidate(worldUid);
+		plugin.getServer().getScheduler().runTask(plugin, () -> WorldId.invalidate(worldUid));
+	}
+
+}
@@ -58,7 +58,7 @@ final public class PermissionCheck
 	@SuppressWarnings("unused")
 	public void logDebugMessage(final String message)
 	{
-		if (plugin.getConfig().getBoolean("debug"))
+		if (plugin.getSettings().debug())
 		{
 			plugin.getLogger().info(message);
 		}
@@ -87,7 +87,7 @@ final public class PermissionCheck
 	public boolean isCreativeDeployDisabled(final Player player)
 	{
 		return player.getGameMode().equals(GameMode.CREATIVE)
-				&& !plugin.getConfig().getBoolean("creative-deploy")
+				&& !plugin.getSettings().creativeDeploy()
 				&& !player.hasPermission("deathchest.creative-deploy");
 	}
 
@@ -102,7 +102,7 @@ final public class PermissionCheck
 	private boolean isCreativeAccessDisabled(final Player player)
 	{
 		return player.getGameMode().equals(GameMode.CREATIVE)
-				&& !plugin.getConfig().getBoolean("creative-access")
+				&& !plugin.getSettings().creativeAccess()
 				&& !player.hasPermission("deathchest.creative-access");
 	}
 
@@ -126,7 +126,7 @@ final public class PermissionCheck
 	 */
 	private boolean isProtectionDisabled()
 	{
-		return !plugin.getConfig().getBoolean("chest-protection");
+		return !plugin.getSettings().chestProtection();
 	}
 
 
@@ -138,7 +138,7 @@ final public class PermissionCheck
 	 */
 	private boolean isProtectionExpired(final DeathChestRecord deathChest)
 	{
-		return plugin.getConfig().getBoolean("chest-protection") &&
+		return plugin.getSettings().chestProtection() &&
 				plugin.chestManager.protectionExpired(deathChest);
 	}
 
@@ -151,7 +151,7 @@ final public class PermissionCheck
 	 */
 	private boolean isProtectionNotExpired(final DeathChestRecord deathChest)
 	{
-		return plugin.getConfig().getBoolean("chest-protection") &&
+		return plugin.getSettings().chestProtection() &&
 				!plugin.chestManager.protectionExpired(deathChest);
 	}
 
@@ -164,7 +164,7 @@ final public class PermissionCheck
 	 */
 	private boolean hasLootOtherPermission(final Player player)
 	{
-		return plugin.getConfig().getBoolean("chest-protection") &&
+		return plugin.getSettings().chestProtection() &&
 				player.hasPermission("deathchest.loot.other");
 	}
 
@@ -179,8 +179,8 @@ final public class PermissionCheck
 	 */
 	private boolean isKillerLooting(final Player player, final DeathChestRecord deathChest)
 	{
-		return plugin.getConfig().getBoolean("chest-protection") &&
-				plugin.getConfig().getBoolean("killer-looting") &&
+		return plugin.getSettings().chestProtection() &&
+				plugin.getSettings().killerLooting() &&
 				deathChest.isKiller(player) &&
 				player.hasPermission("deathchest.loot.killer");
 	}
@@ -198,7 +198,7 @@ final public class PermissionCheck
 	{
 
 		// get protectionCheckResult of all protection plugin checks
-		final ProtectionCheckResult protectionCheckResult = plugin.protectionPluginRegistry.accessAllowed(player, deathChest.getLocation());
+		final ProtectionCheckResult protectionCheckResult = plugin.protectionPluginRegistry.accessAllowed(player, deathChest.chestUid(), deathChest.getLocation());
 
 		// if access blocked by protection plugin, do nothing and return (allow protection plugin to handle)
 		if (isPluginBlockingAccess(protectionCheckResult))
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2022 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.deathchest.permissions.protectionplugins;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * A class that holds the results of protection plugin access checks for a short time, keyed by player and chest,
+ * so repeated interactions with a death chest by the same player do not repeat the protection plugin checks.
+ */
+final class AccessCheckCache {
+
+	// number of entries above which expired entries are purged when a result is cached
+	private static final int PURGE_THRESHOLD = 256;
+
+	private final Map<AccessKey, Entry> entryMap = new ConcurrentHashMap<>();
+
+	// time to live of cached results; zero disables the cache
+	private volatile long ttlNanos;
+
+
+	/**
+	 * A record that is the key of a cached access check result
+	 *
+	 * @param playerUid the UUID of the player who accessed the chest
+	 * @param chestUid the UUID of the chest that was accessed
+	 */
+	private record AccessKey(UUID playerUid, UUID chestUid) { }
+
+
+	/**
+	 * A record that holds a cached access check result and its expiration time
+	 *
+	 * @param result the access check result
+	 * @param expiresNanos the value of {@link System#nanoTime()} at which the result expires
+	 */
+	private record Entry(ProtectionCheckResult result, long expiresNanos) { }
+
+
+	/**
+	 * Set the time to live of cached results, and clear all cached results
+	 *
+	 * @param ttlMillis the time to live in milliseconds; zero or less disables the cache
+	 */
+	void setTimeToLive(final long ttlMillis) {
+		this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, ttlMillis));
+		entryMap.clear();
+	}
+
+
+	/**
+	 * Get a cached access check result
+	 *
+	 * @param playerUid the UUID of the player
+	 * @param chestUid the UUID of the chest
+	 * @return the cached result, or null if no unexpired result is cached
+	 */
+	ProtectionCheckResult get(final UUID playerUid, final UUID chestUid) {
+		if (ttlNanos == 0 || playerUid == null || chestUid == null) {
+			return null;
+		}
+
+		final AccessKey key = new AccessKey(playerUid, chestUid);
+		final Entry entry = entryMap.get(key);
+
+		if (entry == null) {
+			return null;
+		}
+
+		if (System.nanoTime() - entry.expiresNanos() >= 0) {
+			entryMap.remove(key, entry);
+			return null;
+		}
+
+		return entry.result();
+	}
+
+
+	/**
+	 * Cache an access check result
+	 *
+	 * @param playerUid the UUID of the player
+	 * @param chestUid the UUID of the chest
+	 * @param result the access check result
+	 */
+	void put(final UUID playerUid, final UUID chestUid, final ProtectionCheckResult result) {
+		if (ttlNanos == 0 || playerUid == null || chestUid == null) {
+			return;
+		}
+
+		final long now = System.nanoTime();
+
+		// purge expired entries, so results for chests that are not accessed again do not accumulate
+		if (entryMap.size() > PURGE_THRESHOLD) {
+			entryMap.values().removeIf(entry -> now - entry.expiresNanos() >= 0);
+		}
+
+		entryMap.put(new AccessKey(playerUid, chestUid), new Entry(result, now + ttlNanos));
+	}
+
+
+	/**
+	 * Remove all cached results
+	 */
+	void clear() {
+		entryMap.clear();
+	}
+
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2022 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.deathchest.permissions.protectionplugins;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import java.util.HashMap;
+import java.util.Map;
+
+
+/**
+ * A class that holds the results of protection plugin placement checks for the duration of a single search.
+ * Results are keyed by protection plugin and by the region key returned by the protection plugin, so a placement
+ * check is performed once per protected region instead of once per tested location. Results for region keys
+ * that know their bounds are used for any location within the bounds, without looking up the region key. A cache may also hold
+ * placement masks filled in bulk by protection plugins, one for each chunk of the search volume in which
+ * a placement check has been made.
+ * Instances are not thread safe, and should only be used for checks on behalf of a single player.
+ */
+public final class PlacementCache {
+
+	// region key for locations that are not in any region or claim of a protection plugin
+	public static final Object NO_REGION = new Object();
+
+	private final Map<ProtectionPlugin, Map<Object, Boolean>> resultMap = new HashMap<>();
+
+	// cached results of placement regions, by protection plugin, tested by containment before region keys are looked up
+	private final Map<ProtectionPlugin, Map<PlacementRegion, Boolean>> regionMap = new HashMap<>();
+
+	// placement masks by protection plugin and packed chunk key
+	private final Map<ProtectionPlugin, Map<Long, PlacementMask>> maskMap = new HashMap<>();
+
+	// search volume within which placement masks are filled; masks are not filled if world is null
+	private World world;
+	private int minX;
+	private int minY;
+	private int minZ;
+	private int maxX;
+	private int maxY;
+	private int maxZ;
+
+
+	/**
+	 * Set the search volume. Placement masks are filled for the part of a chunk that lies within the volume
+	 * on the first placement check in the chunk.
+	 *
+	 * @param world the world of the search volume
+	 * @param minX the minimum x coordinate, inclusive
+	 * @param minY the minimum y coordinate, inclusive
+	 * @param minZ the minimum z coordinate, inclusive
+	 * @param maxX the maximum x coordinate, inclusive
+	 * @param maxY the maximum y coordinate, inclusive
+	 * @param maxZ the maximum z coordinate, inclusive
+	 */
+	public void setVolume(final World world,
+	                      final int minX, final int minY, final int minZ,
+	                      final int maxX, final int maxY, final int maxZ) {
+		this.world = world;
+		this.minX = minX;
+		this.minY = minY;
+		this.minZ = minZ;
+		this.maxX = maxX;
+		this.maxY = maxY;
+		this.maxZ = maxZ;
+		this.maskMap.clear();
+	}
+
+
+	/**
+	 * Get a cached placement check result
+	 *
+	 * @param protectionPlugin the protection plugin that performed the check
+	 * @param regionKey the region key of the checked location
+	 * @return the cached result, or null if no result is cached for the region
+	 */
+	Boolean get(final ProtectionPlugin protectionPlugin, final Object regionKey) {
+		final Map<Object, Boolean> regionResults = resultMap.get(protectionPlugin);
+		return (regionResults != null) ? regionResults.get(regionKey) : null;
+	}
+
+
+	/**
+	 * Get a cached placement check result for a placement region that contains a location
+	 *
+	 * @param protectionPlugin the protection plugin that performed the check
+	 * @param location the location of the check
+	 * @return the cached result, or null if no cached placement region contains the location
+	 */
+	Boolean getContaining(final ProtectionPlugin protectionPlugin, final Location location) {
+		final Map<PlacementRegion, Boolean> regionResults = regionMap.get(protectionPlugin);
+		if (regionResults != null) {
+			for (Map.Entry<PlacementRegion, Boolean> entry : regionResults.entrySet()) {
+				if (entry.getKey().contains(location)) {
+					return entry.getValue();
+				}
+			}
+		}
+		return null;
+	}
+
+
+	/**
+	 * Get a placement check result from the placement mask filled by a protection plugin for the chunk of a location
+	 *
+	 * @param protectionPlugin the protection plugin that filled the mask
+	 * @param location the location of the check
+	 * @return the result from the mask, or null if the mask has no result for the location
+	 */
+	Boolean getMasked(final ProtectionPlugin protectionPlugin, final Location location) {
+		final Map<Long, PlacementMask> chunkMasks = maskMap.get(protectionPlugin);
+		if (chunkMasks == null) {
+			return null;
+		}
+		final PlacementMask placementMask = chunkMasks.get(chunkKey(location.getBlockX() >> 4, location.getBlockZ() >> 4));
+		return (placementMask != null) ? placementMask.get(location) : null;
+	}
+
+
+	/**
+	 * Create an empty placement mask for the part of the chunk of a location that lies within the search volume,
+	 * if no mask has been created for the chunk by the protection plugin. The mask is stored in the cache,
+	 * and must be filled by the caller.
+	 *
+	 * @param protectionPlugin the protection plugin that will fill the mask
+	 * @param location the location of the check
+	 * @return the new placement mask, or null if the location is outside the search volume
+	 * or a mask was already created for the chunk
+	 */
+	PlacementMask createMask(final ProtectionPlugin protectionPlugin, final Location location) {
+		final int x = location.getBlockX();
+		final int y = location.getBlockY();
+		final int z = location.getBlockZ();
+
+		// if location is outside search volume, do not create mask
+		if (world == null || location.getWorld() != world
+				|| x < minX || x > maxX || y < minY || y > maxY || z < minZ || z > maxZ) {
+			return null;
+		}
+
+		final int chunkX = x >> 4;
+		final int chunkZ = z >> 4;
+		final Map<Long, PlacementMask> chunkMasks = maskMap.computeIfAbsent(protectionPlugin, k -> new HashMap<>());
+		final long chunkKey = chunkKey(chunkX, chunkZ);
+
+		// if mask was already created for chunk, do not create another
+		if (chunkMasks.containsKey(chunkKey)) {
+			return null;
+		}
+
+		final PlacementMask placementMask = new PlacementMask(world,
+				Math.max(minX, chunkX << 4), minY, Math.max(minZ, chunkZ << 4),
+				Math.min(maxX, (chunkX << 4) + 15), maxY, Math.min(maxZ, (chunkZ << 4) + 15));
+		chunkMasks.put(chunkKey, placementMask);
+		return placementMask;
+	}
+
+
+	/**
+	 * Cache a placement check result
+	 *
+	 * @param protectionPlugin the protection plugin that performed the check
+	 * @param regionKey the region key of the checked location
+	 * @param allowed the result of the check
+	 */
+	void put(final ProtectionPlugin protectionPlugin, final Object regionKey, final boolean allowed) {
+		resultMap.computeIfAbsent(protectionPlugin, k -> new HashMap<>()).put(regionKey, allowed);
+
+		// if region key has bounds, cache result for locations the region contains
+		if (regionKey instanceof PlacementRegion placementRegion) {
+			regionMap.computeIfAbsent(protectionPlugin, k -> new HashMap<>()).put(placementRegion, allowed);
+		}
+	}
+
+
+	private static long chunkKey(final int chunkX, final int chunkZ) {
+		return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+	}
+
+}
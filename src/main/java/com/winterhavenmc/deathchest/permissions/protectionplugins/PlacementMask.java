@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2022 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.deathchest.permissions.protectionplugins;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import java.util.BitSet;
+
+
+/**
+ * A class that holds the placement check results of a protection plugin for every block position in a bounding box.
+ * Each position is either allowed, blocked, or unknown; unknown positions must be checked individually.
+ */
+public final class PlacementMask {
+
+	private final World world;
+	private final int minX;
+	private final int minY;
+	private final int minZ;
+	private final int sizeX;
+	private final int sizeY;
+	private final int sizeZ;
+
+	// bit set for positions whose result is known
+	private final BitSet known;
+
+	// bit set for known positions where placement is allowed
+	private final BitSet allowed;
+
+
+	/**
+	 * Class constructor. Creates a mask with all positions unknown.
+	 *
+	 * @param world the world of the bounding box
+	 * @param minX the minimum x coordinate, inclusive
+	 * @param minY the minimum y coordinate, inclusive
+	 * @param minZ the minimum z coordinate, inclusive
+	 * @param maxX the maximum x coordinate, inclusive
+	 * @param maxY the maximum y coordinate, inclusive
+	 * @param maxZ the maximum z coordinate, inclusive
+	 */
+	public PlacementMask(final World world,
+	                     final int minX, final int minY, final int minZ,
+	                     final int maxX, final int maxY, final int maxZ) {
+		this.world = world;
+		this.minX = minX;
+		this.minY = minY;
+		this.minZ = minZ;
+		this.sizeX = Math.max(0, maxX - minX + 1);
+		this.sizeY = Math.max(0, maxY - minY + 1);
+		this.sizeZ = Math.max(0, maxZ - minZ + 1);
+		this.known = new BitSet(sizeX * sizeY * sizeZ);
+		this.allowed = new BitSet(sizeX * sizeY * sizeZ);
+	}
+
+
+	public World getWorld() {
+		return world;
+	}
+
+	public int getMinX() {
+		return minX;
+	}
+
+	public int getMinY() {
+		return minY;
+	}
+
+	public int getMinZ() {
+		return minZ;
+	}
+
+	public int getMaxX() {
+		return minX + sizeX - 1;
+	}
+
+	public int getMaxY() {
+		return minY + sizeY - 1;
+	}
+
+	public int getMaxZ() {
+		return minZ + sizeZ - 1;
+	}
+
+
+	/**
+	 * Check if a position is within the bounding box of this mask
+	 *
+	 * @return {@code true} if the position is within the bounding box, {@code false} if not
+	 */
+	public boolean contains(final int x, final int y, final int z) {
+		return x >= minX && x < minX + sizeX
+				&& y >= minY && y < minY + sizeY
+				&& z >= minZ && z < minZ + sizeZ;
+	}
+
+
+	/**
+	 * Set the placement result for a position. Positions outside the bounding box are ignored.
+	 *
+	 * @param allowed {@code true} if placement is allowed at the position, {@code false} if blocked
+	 */
+	public void set(final int x, final int y, final int z, final boolean allowed) {
+		if (contains(x, y, z)) {
+			final int index = index(x, y, z);
+			this.known.set(index);
+			this.allowed.set(index, allowed);
+		}
+	}
+
+
+	/**
+	 * Set the placement result for all positions in a vertical column of the bounding box
+	 *
+	 * @param allowed {@code true} if placement is allowed in the column, {@code false} if blocked
+	 */
+	public void setColumn(final int x, final int z, final boolean allowed) {
+		if (contains(x, minY, z)) {
+			final int from = index(x, minY, z);
+			this.known.set(from, from + sizeY);
+			this.allowed.set(from, from + sizeY, allowed);
+		}
+	}
+
+
+	/**
+	 * Set the placement result for all positions in the bounding box
+	 *
+	 * @param allowed {@code true} if placement is allowed in the bounding box, {@code false} if blocked
+	 */
+	public void fill(final boolean allowed) {
+		final int size = sizeX * sizeY * sizeZ;
+		this.known.set(0, size);
+		this.allowed.set(0, size, allowed);
+	}
+
+
+	/**
+	 * Get the placement result for a location
+	 *
+	 * @param location the location
+	 * @return {@code Boolean.TRUE} if allowed, {@code Boolean.FALSE} if blocked,
+	 * or null if the result is unknown or the location is outside the bounding box
+	 */
+	public Boolean get(final Location location) {
+		if (location.getWorld() != world) {
+			return null;
+		}
+
+		final int x = location.getBlockX();
+		final int y = location.getBlockY();
+		final int z = location.getBlockZ();
+
+		if (!contains(x, y, z)) {
+			return null;
+		}
+
+		final int index = index(x, y, z);
+		return (known.get(index)) ? allowed.get(index) : null;
+	}
+
+
+	// positions are ordered by x, then z, then y, so each vertical column is contiguous
+	private int index(final int x, final int y, final int z) {
+		return ((x - minX) * sizeZ + (z - minZ)) * sizeY + (y - minY);
+	}
+
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2022 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+
+package com.winterhavenmc.deathchest.permissions.protectionplugins;
+
+import org.bukkit.Location;
+
+
+/**
+ * A region key that knows its own bounds. Placement check results cached for a placement region are used for
+ * any location the region contains, without asking the protection plugin for the region key of the location.
+ */
+public interface PlacementRegion {
+
+	/**
+	 * Check if a location is within the bounds of this region
+	 *
+	 * @param location the location
+	 * @return boolean - true if the location is in this region, false if not
+	 */
+	boolean contains(final Location location);
+
+}
@@ -33,6 +33,34 @@ public interface ProtectionPlugin {
 	boolean allowChestPlacement(final Player player, final Location location);
 
 
+	/**
+	 * Get a key for the protected region or claim that contains a location. Placement checks for a player
+	 * at any two locations with equal region keys must return the same result, so results can be cached by key.
+	 * Keys that implement {@link PlacementRegion} are also used for any location they contain,
+	 * so the key lookup is skipped for later checks within the region.
+	 *
+	 * @param player the player whose death chest will be placed
+	 * @param location the location where the death chest will be placed
+	 * @return Object - the region key, {@link PlacementCache#NO_REGION} if location is not in a region,
+	 * or null if placement checks at the location cannot be cached
+	 */
+	default Object getPlacementRegionKey(final Player player, final Location location) {
+		return null;
+	}
+
+
+	/**
+	 * Set placement check results for a player in a placement mask, for as many positions in its bounding box
+	 * as can be resolved from a few region lookups. Positions that are not set are checked individually.
+	 *
+	 * @param player the player whose death chest will be placed
+	 * @param placementMask the mask to fill, with all positions initially unknown
+	 */
+	default void fillPlacementMask(final Player player, final PlacementMask placementMask) {
+		// bulk checks are not supported; all positions are checked individually
+	}
+
+
 	/**
 	 * Check if plugin will allow chest access at location by player
 	 *
@@ -76,4 +104,12 @@ public interface ProtectionPlugin {
 	 */
 	boolean isIgnoredOnAccess();
 
+
+	/**
+	 * Get the call statistics and circuit breaker state for checks performed by the protection plugin
+	 *
+	 * @return ProtectionPluginStats - the statistics for the protection plugin
+	 */
+	ProtectionPluginStats getStats();
+
 }
@@ -17,16 +17,17 @@
 
 package com.winterhavenmc.deathchest.permissions.protectionplugins;
 
+import com.winterhavenmc.deathchest.PluginMain;
 import org.bukkit.Location;
 import org.bukkit.entity.Player;
-import org.bukkit.plugin.java.JavaPlugin;
 
 
 public abstract class ProtectionPluginAbstract implements ProtectionPlugin {
 
-	protected JavaPlugin plugin;
+	protected PluginMain plugin;
 	protected String name;
 	protected String version;
+	private final ProtectionPluginStats stats = new ProtectionPluginStats();
 
 	@Override
 	public String toString() {
@@ -49,11 +50,17 @@ public abstract class ProtectionPluginAbstract implements ProtectionPlugin {
 		return this.version;
 	}
 
+	@Override
+	public ProtectionPluginStats getStats() {
+		return this.stats;
+	}
+
 
 	/**
 	 * Log errors that occur when checking for block place permission
 	 */
 	public void logPlaceError() {
+		stats.recordError(ProtectionPluginStats.CheckType.PLACEMENT);
 		plugin.getLogger().warning("An error occurred checking for block place permission with " + this);
 	}
 
@@ -62,15 +69,27 @@ public abstract class ProtectionPluginAbstract implements ProtectionPlugin {
 	 * Log errors that occur when checking for block place permission
 	 */
 	public void logPlaceError(final String message) {
+		stats.recordError(ProtectionPluginStats.CheckType.PLACEMENT);
 		plugin.getLogger().warning("An error occurred checking for block place permission with " + this);
 		plugin.getLogger().warning(message);
 	}
 
 
+	/**
+	 * Log errors that occur when filling a placement mask
+	 */
+	public void logMaskError(final String message) {
+		stats.recordError(ProtectionPluginStats.CheckType.PLACEMENT_MASK);
+		plugin.getLogger().warning("An error occurred filling a placement mask with " + this);
+		plugin.getLogger().warning(message);
+	}
+
+
 	/**
 	 * Log errors that occur when checking for chest access permission
 	 */
 	public void logAccessError() {
+		stats.recordError(ProtectionPluginStats.CheckType.ACCESS);
 		plugin.getLogger().warning("An error occurred checking for chest access permission with " + this);
 	}
 
@@ -79,6 +98,7 @@ public abstract class ProtectionPluginAbstract implements ProtectionPlugin {
 	 * Log errors that occur when checking for chest access permission
 	 */
 	public void logAccessError(final String message) {
+		stats.recordError(ProtectionPluginStats.CheckType.ACCESS);
 		plugin.getLogger().warning("An error occurred checking for chest access permission with " + this);
 		plugin.getLogger().warning(message);
 	}
@@ -93,7 +113,7 @@ public abstract class ProtectionPluginAbstract implements ProtectionPlugin {
 	public boolean isIgnoredOnPlace() {
 
 		// if plugin is not enabled in config, return false
-		return (plugin.getConfig().getBoolean("protection-plugins." + this + ".ignore-on-place"));
+		return plugin.getSettings().ignoredOnPlace().contains(this.name);
 	}
 
 
@@ -105,7 +125,7 @@ public abstract class ProtectionPluginAbstract implements ProtectionPlugin {
 	@Override
 	public boolean isIgnoredOnAccess() {
 		// if plugin is not enabled in config, return false
-		return (plugin.getConfig().getBoolean("protection-plugins." + this + ".ignore-on-access"));
+		return plugin.getSettings().ignoredOnAccess().contains(this.name);
 	}
 
 }
@@ -17,28 +17,32 @@
 
 package com.winterhavenmc.deathchest.permissions.protectionplugins;
 
+import com.winterhavenmc.deathchest.PluginMain;
+import com.winterhavenmc.deathchest.PluginSettings;
 import org.bukkit.Location;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
-import org.bukkit.plugin.java.JavaPlugin;
 
 import java.util.Collection;
 import java.util.LinkedHashSet;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
 
 
 public final class ProtectionPluginRegistry {
 
-	@SuppressWarnings({"FieldCanBeLocal", "unused"})
-	private final JavaPlugin plugin;
+	private final PluginMain plugin;
 	private final Set<ProtectionPlugin> protectionPluginSet;
+	private final AccessCheckCache accessCheckCache;
 
 
 	/**
 	 * Class constructor
 	 * @param plugin reference to plugin main class
 	 */
-	public ProtectionPluginRegistry(final JavaPlugin plugin) {
+	public ProtectionPluginRegistry(final PluginMain plugin) {
 
 		this.plugin = plugin;
 
@@ -47,6 +51,27 @@ public final class ProtectionPluginRegistry {
 
 		// populate set with enabled protection plugins
 		registerEnabledPlugins(plugin);
+
+		// initialize access check cache
+		this.accessCheckCache = new AccessCheckCache();
+		this.accessCheckCache.setTimeToLive(getAccessCacheTimeToLive());
+	}
+
+
+	/**
+	 * Clear cached access check results and apply configured cache time to live
+	 */
+	public void reload() {
+		accessCheckCache.clear();
+		accessCheckCache.setTimeToLive(getAccessCacheTimeToLive());
+	}
+
+
+	/**
+	 * Get configured access check cache time to live in milliseconds
+	 */
+	private long getAccessCacheTimeToLive() {
+		return plugin.getSettings().accessCheckCacheTtl() * 50L;
 	}
 
 
@@ -68,19 +93,35 @@ public final class ProtectionPluginRegistry {
 	 * @return ProtectionCheckResult - result object with result code and blocking protection plugin if applicable
 	 */
 	public ProtectionCheckResult placementAllowed(final Player player, final Location location) {
+		return placementAllowed(player, location, null);
+	}
+
+
+	/**
+	 * Iterate protection plugin check instances in registry and test if chest placement is allowed for player at location,
+	 * using results cached for the protected region that contains the location where possible
+	 *
+	 * @param player the player for whom to perform check
+	 * @param location the location to perform check
+	 * @param placementCache cache of placement check results for the player, or null to perform all checks
+	 * @return ProtectionCheckResult - result object with result code and blocking protection plugin if applicable
+	 */
+	public ProtectionCheckResult placementAllowed(final Player player,
+	                                              final Location location,
+	                                              final PlacementCache placementCache) {
 
 		ProtectionCheckResult result = new ProtectionCheckResult();
 
 		// iterate through active protection plugins in set
 		for (ProtectionPlugin protectionPlugin : protectionPluginSet) {
 
-			// if protection plugin is configured ignore on place: skip check
-			if (protectionPlugin.isIgnoredOnPlace()) {
+			// if protection plugin is configured ignore on place or its checks are suspended: skip check
+			if (protectionPlugin.isIgnoredOnPlace() || isSuspended(protectionPlugin)) {
 				continue;
 			}
 
 			// if allow chest placement check returns false, set result code to BLOCKED and break loop
-			if (!protectionPlugin.allowChestPlacement(player, location)) {
+			if (!placementAllowed(protectionPlugin, player, location, placementCache)) {
 				result.setResultCode(ProtectionCheckResultCode.BLOCKED);
 				result.setProtectionPlugin(protectionPlugin);
 				break;
@@ -90,6 +131,131 @@ public final class ProtectionPluginRegistry {
 	}
 
 
+	/**
+	 * Test if a protection plugin allows chest placement for player at location, using a cached result
+	 * for the protected region that contains the location if available
+	 */
+	private boolean placementAllowed(final ProtectionPlugin protectionPlugin,
+	                                 final Player player,
+	                                 final Location location,
+	                                 final PlacementCache placementCache) {
+
+		// if no cache, perform check
+		if (placementCache == null) {
+			return checkPlacement(protectionPlugin, player, location);
+		}
+
+		// if placement mask has result for location, return result
+		Boolean masked = placementCache.getMasked(protectionPlugin, location);
+		if (masked != null) {
+			return masked;
+		}
+
+		// on first check in a chunk of the search volume, fill placement mask for the chunk and try again
+		final PlacementMask placementMask = placementCache.createMask(protectionPlugin, location);
+		if (placementMask != null) {
+			fillPlacementMask(protectionPlugin, player, placementMask);
+			masked = placementMask.get(location);
+			if (masked != null) {
+				return masked;
+			}
+		}
+
+		// if a cached placement region contains location, return its result without a region lookup
+		final Boolean contained = placementCache.getContaining(protectionPlugin, location);
+		if (contained != null) {
+			return contained;
+		}
+
+		// get region key for location; if null, location cannot be cached
+		final Object regionKey = protectionPlugin.getPlacementRegionKey(player, location);
+		if (regionKey == null) {
+			return checkPlacement(protectionPlugin, player, location);
+		}
+
+		// return cached result for region, or perform check and cache result
+		Boolean allowed = placementCache.get(protectionPlugin, regionKey);
+		if (allowed == null) {
+			allowed = checkPlacement(protectionPlugin, player, location);
+			placementCache.put(protectionPlugin, regionKey, allowed);
+		}
+		return allowed;
+	}
+
+
+	/**
+	 * Fill a placement mask with a protection plugin, recording the fill separately from point checks;
+	 * failing fills count toward the circuit breaker
+	 */
+	private void fillPlacementMask(final ProtectionPlugin protectionPlugin, final Player player, final PlacementMask placementMask) {
+		timedCheck(protectionPlugin, ProtectionPluginStats.CheckType.PLACEMENT_MASK, () -> {
+			protectionPlugin.fillPlacementMask(player, placementMask);
+			return true;
+		});
+	}
+
+
+	/**
+	 * Perform a timed chest placement check with a protection plugin
+	 */
+	private boolean checkPlacement(final ProtectionPlugin protectionPlugin, final Player player, final Location location) {
+		return timedCheck(protectionPlugin, ProtectionPluginStats.CheckType.PLACEMENT, () -> protectionPlugin.allowChestPlacement(player, location));
+	}
+
+
+	/**
+	 * Perform a timed chest access check with a protection plugin
+	 */
+	private boolean checkAccess(final ProtectionPlugin protectionPlugin, final Player player, final Location location) {
+		return timedCheck(protectionPlugin, ProtectionPluginStats.CheckType.ACCESS, () -> protectionPlugin.allowChestAccess(player, location));
+	}
+
+
+	/**
+	 * Perform a check with a protection plugin, recording its duration and whether it failed in the plugin stats,
+	 * and suspend checks by the plugin if the circuit breaker failure threshold is reached
+	 */
+	private boolean timedCheck(final ProtectionPlugin protectionPlugin, final ProtectionPluginStats.CheckType checkType, final BooleanSupplier check) {
+
+		final PluginSettings settings = plugin.getSettings();
+		final long slowCallNanos = TimeUnit.MILLISECONDS.toNanos(settings.circuitBreakerSlowCallThreshold());
+		final ProtectionPluginStats stats = protectionPlugin.getStats();
+		final long errorCount = stats.getErrorCount(checkType);
+		final long startTime = System.nanoTime();
+
+		final boolean result = check.getAsBoolean();
+
+		final long elapsedNanos = System.nanoTime() - startTime;
+
+		// a check fails if the plugin logged an error during the check, or it exceeded the slow call threshold
+		final boolean failed = stats.getErrorCount(checkType) > errorCount
+				|| (checkType.isSlowCallFailure() && slowCallNanos > 0 && elapsedNanos > slowCallNanos);
+
+		final int consecutiveFailures = stats.recordCall(checkType, elapsedNanos, failed);
+
+		// if circuit breaker is enabled and failure threshold is reached, suspend checks by plugin
+		if (settings.circuitBreakerEnabled() && consecutiveFailures >= settings.circuitBreakerFailureThreshold()) {
+			stats.trip(TimeUnit.SECONDS.toNanos(settings.circuitBreakerOpenTime()));
+			plugin.getLogger().warning("Suspending checks with " + protectionPlugin + " for "
+					+ settings.circuitBreakerOpenTime() + " seconds after "
+					+ consecutiveFailures + " consecutive failed checks.");
+		}
+
+		return result;
+	}
+
+
+	/**
+	 * Check if checks by a protection plugin are suspended by the circuit breaker
+	 *
+	 * @param protectionPlugin the protection plugin
+	 * @return boolean - true if the circuit breaker is enabled and open for the plugin, false if not
+	 */
+	public boolean isSuspended(final ProtectionPlugin protectionPlugin) {
+		return plugin.getSettings().circuitBreakerEnabled() && protectionPlugin.getStats().isOpen();
+	}
+
+
 	/**
 	 * Iterate protection plugin check instances in registry and test if chest access is allowed for player at location
 	 *
@@ -104,13 +270,13 @@ public final class ProtectionPluginRegistry {
 		// iterate through active protection plugins in set
 		for (ProtectionPlugin protectionPlugin : protectionPluginSet) {
 
-			// if protection plugin is configured ignore on access: skip check
-			if (protectionPlugin.isIgnoredOnAccess()) {
+			// if protection plugin is configured ignore on access or its checks are suspended: skip check
+			if (protectionPlugin.isIgnoredOnAccess() || isSuspended(protectionPlugin)) {
 				continue;
 			}
 
 			// if allow chest access check returns false, set result code to BLOCKED and break loop
-			if (!protectionPlugin.allowChestAccess(player, location)) {
+			if (!checkAccess(protectionPlugin, player, location)) {
 				result.setResultCode(ProtectionCheckResultCode.BLOCKED);
 				result.setProtectionPlugin(protectionPlugin);
 				break;
@@ -120,6 +286,30 @@ public final class ProtectionPluginRegistry {
 	}
 
 
+	/**
+	 * Test if chest access is allowed for player at location of a death chest, using a result cached for the player
+	 * and chest within the configured time to live if available
+	 *
+	 * @param player the player for whom to perform check
+	 * @param chestUid the UUID of the death chest being accessed
+	 * @param location the location of the death chest
+	 * @return ProtectionCheckResult - result object with result code and blocking protection plugin if applicable
+	 */
+	public ProtectionCheckResult accessAllowed(final Player player, final UUID chestUid, final Location location) {
+
+		// if result is cached for player and chest, return cached result
+		ProtectionCheckResult result = accessCheckCache.get(player.getUniqueId(), chestUid);
+		if (result != null) {
+			return result;
+		}
+
+		// perform checks and cache result
+		result = accessAllowed(player, location);
+		accessCheckCache.put(player.getUniqueId(), chestUid, result);
+		return result;
+	}
+
+
 	/**
 	 * Get all plugin check instances from registry
 	 *
@@ -135,7 +325,7 @@ public final class ProtectionPluginRegistry {
 	 *
 	 * @param plugin reference to plugin main class
 	 */
-	private void registerEnabledPlugins(final JavaPlugin plugin) {
+	private void registerEnabledPlugins(final PluginMain plugin) {
 
 		// iterate over all plugins defined in ProtectionPluginType enum
 		for (ProtectionPluginType protectionPluginType : ProtectionPluginType.values()) {
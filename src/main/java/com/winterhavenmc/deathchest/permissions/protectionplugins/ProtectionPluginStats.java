@@ -0,0 +1,259 @@
+/*
+ * Copyright (c) 2022 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+
+package com.winterhavenmc.deathchest.permissions.protectionplugins;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * Call counts, error counts and latency histograms for the checks performed by a protection plugin,
+ * with the state of a circuit breaker that suspends checks by the plugin after repeated failures
+ */
+public final class ProtectionPluginStats {
+
+	/**
+	 * The kinds of protection plugin check that are recorded separately
+	 */
+	public enum CheckType {
+		PLACEMENT(true),
+		ACCESS(true),
+
+		// placement mask fills cover a whole search volume, so their duration is not compared with the per-call threshold
+		PLACEMENT_MASK(false);
+
+		private final boolean slowCallFailure;
+
+		CheckType(final boolean slowCallFailure) {
+			this.slowCallFailure = slowCallFailure;
+		}
+
+		/**
+		 * Check if a check of this type fails when it exceeds the slow call threshold
+		 *
+		 * @return boolean - true if slow checks of this type are failures, false if only errors are failures
+		 */
+		boolean isSlowCallFailure() {
+			return slowCallFailure;
+		}
+	}
+
+
+	// upper bounds in microseconds of latency histogram buckets; the last bucket has no upper bound
+	private static final long[] BUCKET_BOUNDS_MICROS = { 50, 250, 1000, 5000, 25000 };
+
+	private final Map<CheckType, Counters> countersMap;
+	private final AtomicInteger consecutiveFailures;
+	private final AtomicLong tripCount;
+	private volatile long openUntilNanos;
+	private volatile boolean open;
+
+
+	/**
+	 * Class constructor
+	 */
+	ProtectionPluginStats() {
+		this.countersMap = new EnumMap<>(CheckType.class);
+		for (CheckType checkType : CheckType.values()) {
+			countersMap.put(checkType, new Counters());
+		}
+		this.consecutiveFailures = new AtomicInteger();
+		this.tripCount = new AtomicLong();
+	}
+
+
+	/**
+	 * Record a completed check
+	 *
+	 * @param checkType the type of check
+	 * @param elapsedNanos the duration of the check in nanoseconds
+	 * @param failed true if the check raised an error or exceeded the slow call threshold
+	 * @return int - the number of consecutive failed checks, including this one
+	 */
+	int recordCall(final CheckType checkType, final long elapsedNanos, final boolean failed) {
+		final Counters counters = countersMap.get(checkType);
+		counters.calls.increment();
+		counters.totalNanos.add(elapsedNanos);
+		counters.maxNanos.accumulateAndGet(elapsedNanos, Math::max);
+		counters.buckets.incrementAndGet(bucketIndex(elapsedNanos));
+
+		if (failed) {
+			return consecutiveFailures.incrementAndGet();
+		}
+
+		// a successful check closes the circuit breaker
+		consecutiveFailures.set(0);
+		open = false;
+		return 0;
+	}
+
+
+	/**
+	 * Record an error raised by a check. Called by the protection plugin when an error is caught.
+	 *
+	 * @param checkType the type of check
+	 */
+	void recordError(final CheckType checkType) {
+		countersMap.get(checkType).errors.increment();
+	}
+
+
+	/**
+	 * Open the circuit breaker, suspending checks by the plugin for a period of time
+	 *
+	 * @param openNanos the time in nanoseconds to suspend checks
+	 */
+	void trip(final long openNanos) {
+		openUntilNanos = System.nanoTime() + openNanos;
+		open = true;
+		tripCount.incrementAndGet();
+	}
+
+
+	/**
+	 * Check if the circuit breaker is open. Once the open period has elapsed, checks are resumed;
+	 * if the next check fails the breaker is opened again, otherwise it is closed.
+	 *
+	 * @return boolean - true if checks by the plugin are suspended, false if not
+	 */
+	public boolean isOpen() {
+		return open && System.nanoTime() - openUntilNanos < 0;
+	}
+
+
+	/**
+	 * Get the time remaining before checks by the plugin are resumed
+	 *
+	 * @return long - the remaining open time in seconds, or zero if the circuit breaker is not open
+	 */
+	public long getOpenSecondsRemaining() {
+		return isOpen() ? TimeUnit.NANOSECONDS.toSeconds(openUntilNanos - System.nanoTime()) + 1 : 0;
+	}
+
+
+	/**
+	 * Get the number of times the circuit breaker has been opened
+	 *
+	 * @return long - the number of circuit breaker trips
+	 */
+	public long getTripCount() {
+		return tripCount.get();
+	}
+
+
+	/**
+	 * Get the number of checks performed
+	 *
+	 * @param checkType the type of check
+	 * @return long - the number of checks
+	 */
+	public long getCallCount(final CheckType checkType) {
+		return countersMap.get(checkType).calls.sum();
+	}
+
+
+	/**
+	 * Get the number of errors raised by checks
+	 *
+	 * @param checkType the type of check
+	 * @return long - the number of errors
+	 */
+	public long getErrorCount(final CheckType checkType) {
+		return countersMap.get(checkType).errors.sum();
+	}
+
+
+	/**
+	 * Get the mean duration of checks
+	 *
+	 * @param checkType the type of check
+	 * @return double - the mean duration in milliseconds, or zero if no checks have been performed
+	 */
+	public double getMeanMillis(final CheckType checkType) {
+		final Counters counters = countersMap.get(checkType);
+		final long calls = counters.calls.sum();
+		return calls == 0 ? 0 : counters.totalNanos.sum() / (calls * 1_000_000.0);
+	}
+
+
+	/**
+	 * Get the maximum duration of checks
+	 *
+	 * @param checkType the type of check
+	 * @return double - the maximum duration in milliseconds
+	 */
+	public double getMaxMillis(final CheckType checkType) {
+		return countersMap.get(checkType).maxNanos.get() / 1_000_000.0;
+	}
+
+
+	/**
+	 * Get the upper bounds of the latency histogram buckets. The last bucket has no upper bound.
+	 *
+	 * @return long[] - the bucket upper bounds in microseconds
+	 */
+	public static long[] getBucketBoundsMicros() {
+		return BUCKET_BOUNDS_MICROS.clone();
+	}
+
+
+	/**
+	 * Get the latency histogram of checks
+	 *
+	 * @param checkType the type of check
+	 * @return long[] - the number of checks in each histogram bucket
+	 */
+	public long[] getHistogram(final CheckType checkType) {
+		final AtomicLongArray buckets = countersMap.get(checkType).buckets;
+		final long[] histogram = new long[buckets.length()];
+		for (int i = 0; i < histogram.length; i++) {
+			histogram[i] = buckets.get(i);
+		}
+		return histogram;
+	}
+
+
+	private static int bucketIndex(final long elapsedNanos) {
+		final long micros = TimeUnit.NANOSECONDS.toMicros(elapsedNanos);
+		for (int i = 0; i < BUCKET_BOUNDS_MICROS.length; i++) {
+			if (micros < BUCKET_BOUNDS_MICROS[i]) {
+				return i;
+			}
+		}
+		return BUCKET_BOUNDS_MICROS.length;
+	}
+
+
+	/**
+	 * Counters for a single type of check
+	 */
+	private static final class Counters {
+		private final LongAdder calls = new LongAdder();
+		private final LongAdder errors = new LongAdder();
+		private final LongAdder totalNanos = new LongAdder();
+		private final AtomicLong maxNanos = new AtomicLong();
+		private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_BOUNDS_MICROS.length + 1);
+	}
+
+}
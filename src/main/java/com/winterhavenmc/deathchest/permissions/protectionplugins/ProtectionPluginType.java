@@ -17,15 +17,15 @@
 
 package com.winterhavenmc.deathchest.permissions.protectionplugins;
 
+import com.winterhavenmc.deathchest.PluginMain;
 import com.winterhavenmc.deathchest.permissions.protectionplugins.plugins.*;
-import org.bukkit.plugin.java.JavaPlugin;
 
 public enum ProtectionPluginType
 {
 	GRIEF_PREVENTION("GriefPrevention")
 	{
 		@Override
-		ProtectionPlugin create(final JavaPlugin plugin, final String version)
+		ProtectionPlugin create(final PluginMain plugin, final String version)
 		{
 			return new GriefPrevention(plugin, getName(), version);
 		}
@@ -34,7 +34,7 @@ public enum ProtectionPluginType
 	LANDS("Lands")
 	{
 		@Override
-		ProtectionPlugin create(final JavaPlugin plugin, final String version)
+		ProtectionPlugin create(final PluginMain plugin, final String version)
 		{
 			return new Lands(plugin, getName(), version);
 		}
@@ -43,7 +43,7 @@ public enum ProtectionPluginType
 	ROAD_BLOCK("RoadBlock")
 	{
 		@Override
-		ProtectionPlugin create(final JavaPlugin plugin, final String version)
+		ProtectionPlugin create(final PluginMain plugin, final String version)
 		{
 			return new RoadBlock(plugin, getName(), version);
 		}
@@ -52,7 +52,7 @@ public enum ProtectionPluginType
 	TOWNY("Towny")
 	{
 		@Override
-		ProtectionPlugin create(final JavaPlugin plugin, final String version)
+		ProtectionPlugin create(final PluginMain plugin, final String version)
 		{
 			return new Towny(plugin, getName(), version);
 		}
@@ -61,7 +61,7 @@ public enum ProtectionPluginType
 	WORLDGUARD("WorldGuard")
 	{
 		@Override
-		ProtectionPlugin create(final JavaPlugin plugin, final String version)
+		ProtectionPlugin create(final PluginMain plugin, final String version)
 		{
 			return new WorldGuard(plugin, getName(), version);
 		}
@@ -75,7 +75,7 @@ public enum ProtectionPluginType
 		this.name = name;
 	}
 
-	abstract ProtectionPlugin create(final JavaPlugin plugin, final String version);
+	abstract ProtectionPlugin create(final PluginMain plugin, final String version);
 
 	String getName()
 	{
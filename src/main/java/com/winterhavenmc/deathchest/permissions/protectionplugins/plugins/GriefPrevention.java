@@ -17,13 +17,20 @@
 
 package com.winterhavenmc.deathchest.permissions.protectionplugins.plugins;
 
+import com.winterhavenmc.deathchest.PluginMain;
+import com.winterhavenmc.deathchest.permissions.protectionplugins.PlacementCache;
+import com.winterhavenmc.deathchest.permissions.protectionplugins.PlacementMask;
+import com.winterhavenmc.deathchest.permissions.protectionplugins.PlacementRegion;
 import com.winterhavenmc.deathchest.permissions.protectionplugins.ProtectionPlugin;
 import com.winterhavenmc.deathchest.permissions.protectionplugins.ProtectionPluginAbstract;
 import me.ryanhamshire.GriefPrevention.Claim;
 import org.bukkit.Location;
 import org.bukkit.Material;
+import org.bukkit.World;
 import org.bukkit.entity.Player;
-import org.bukkit.plugin.java.JavaPlugin;
+
+import java.util.ArrayList;
+import java.util.Collection;
 
 
 /**
@@ -31,6 +38,9 @@ import org.bukkit.plugin.java.JavaPlugin;
  */
 public final class GriefPrevention extends ProtectionPluginAbstract implements ProtectionPlugin {
 
+	// last claim returned by a region key lookup, passed to GriefPrevention as a lookup hint
+	private Claim lastClaim;
+
 
 	/**
 	 * Class constructor
@@ -39,7 +49,7 @@ public final class GriefPrevention extends ProtectionPluginAbstract implements P
 	 * @param name name of the protection plugin
 	 * @param version version of the protection plugin
 	 */
-	public GriefPrevention(final JavaPlugin plugin, final String name, final String version) {
+	public GriefPrevention(final PluginMain plugin, final String name, final String version) {
 		this.plugin = plugin;
 		this.name = name;
 		this.version = version;
@@ -60,7 +70,7 @@ public final class GriefPrevention extends ProtectionPluginAbstract implements P
 		}
 		catch (Error | Exception e) {
 			logPlaceError(e.getLocalizedMessage());
-			if (plugin.getConfig().getBoolean("debug")) {
+			if (plugin.getSettings().debug()) {
 				e.printStackTrace();
 			}
 		}
@@ -68,6 +78,90 @@ public final class GriefPrevention extends ProtectionPluginAbstract implements P
 	}
 
 
+	@Override
+	public Object getPlacementRegionKey(final Player player, final Location location) {
+		try {
+			Claim claim = me.ryanhamshire.GriefPrevention.GriefPrevention.instance.dataStore.getClaimAt(location, false, lastClaim);
+			if (claim == null) {
+				return PlacementCache.NO_REGION;
+			}
+			lastClaim = claim;
+
+			// a top level claim without subdivisions has the same result at every location within its bounds
+			if (claim.parent == null && claim.children.isEmpty()) {
+				final Location lesser = claim.getLesserBoundaryCorner();
+				final Location greater = claim.getGreaterBoundaryCorner();
+				return new ClaimRegion(claim, lesser.getWorld(), lesser.getBlockX(), lesser.getBlockY(), lesser.getBlockZ(),
+						greater.getBlockX(), greater.getBlockZ());
+			}
+			return claim;
+		}
+		catch (Error | Exception e) {
+			// do not cache checks if claim cannot be determined
+			return null;
+		}
+	}
+
+
+	@Override
+	public void fillPlacementMask(final Player player, final PlacementMask placementMask) {
+		try {
+			// get claims in chunks that intersect the mask bounding box
+			final Collection<Claim> claims = new ArrayList<>();
+			for (int chunkX = placementMask.getMinX() >> 4; chunkX <= placementMask.getMaxX() >> 4; chunkX++) {
+				for (int chunkZ = placementMask.getMinZ() >> 4; chunkZ <= placementMask.getMaxZ() >> 4; chunkZ++) {
+					claims.addAll(me.ryanhamshire.GriefPrevention.GriefPrevention.instance.dataStore.getClaims(chunkX, chunkZ));
+				}
+			}
+
+			// columns outside the horizontal bounds of all claims are unclaimed, where placement is allowed;
+			// columns within claim bounds are left unknown and checked individually
+			for (int x = placementMask.getMinX(); x <= placementMask.getMaxX(); x++) {
+				for (int z = placementMask.getMinZ(); z <= placementMask.getMaxZ(); z++) {
+					if (!inClaimBounds(claims, x, z)) {
+						placementMask.setColumn(x, z, true);
+					}
+				}
+			}
+		}
+		catch (Error | Exception e) {
+			// leave positions unknown, to be checked individually
+			logMaskError(e.getLocalizedMessage());
+			if (plugin.getSettings().debug()) {
+				e.printStackTrace();
+			}
+		}
+	}
+
+
+	/**
+	 * A claim with its bounds, which extend upward from the claim's lesser corner without limit
+	 */
+	private record ClaimRegion(Claim claim, World world, int minX, int minY, int minZ, int maxX, int maxZ)
+			implements PlacementRegion {
+
+		@Override
+		public boolean contains(final Location location) {
+			return location.getWorld() == world
+					&& location.getBlockX() >= minX && location.getBlockX() <= maxX
+					&& location.getBlockZ() >= minZ && location.getBlockZ() <= maxZ
+					&& location.getBlockY() >= minY;
+		}
+	}
+
+
+	private static boolean inClaimBounds(final Collection<Claim> claims, final int x, final int z) {
+		for (Claim claim : claims) {
+			final Location lesser = claim.getLesserBoundaryCorner();
+			final Location greater = claim.getGreaterBoundaryCorner();
+			if (x >= lesser.getBlockX() && x <= greater.getBlockX() && z >= lesser.getBlockZ() && z <= greater.getBlockZ()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+
 	@Override
 	public boolean allowChestAccess(final Player player, final Location location) {
 		try {
@@ -82,7 +176,7 @@ public final class GriefPrevention extends ProtectionPluginAbstract implements P
 		}
 		catch (Error | Exception e) {
 			logAccessError(e.getLocalizedMessage());
-			if (plugin.getConfig().getBoolean("debug")) {
+			if (plugin.getSettings().debug()) {
 				e.printStackTrace();
 			}
 		}
@@ -17,6 +17,8 @@
 
 package com.winterhavenmc.deathchest.permissions.protectionplugins.plugins;
 
+import com.winterhavenmc.deathchest.PluginMain;
+import com.winterhavenmc.deathchest.permissions.protectionplugins.PlacementMask;
 import com.winterhavenmc.deathchest.permissions.protectionplugins.ProtectionPlugin;
 import com.winterhavenmc.deathchest.permissions.protectionplugins.ProtectionPluginAbstract;
 
@@ -26,9 +28,9 @@ import me.angeschossen.lands.api.flags.Flags;
 
 import org.bukkit.Location;
 import org.bukkit.entity.Player;
-import org.bukkit.plugin.java.JavaPlugin;
 
 import javax.annotation.Nullable;
+import java.util.UUID;
 
 
 /**
@@ -47,7 +49,7 @@ public final class Lands extends ProtectionPluginAbstract implements ProtectionP
 	 * @param name name of the protection plugin
 	 * @param version version of the protection plugin
 	 */
-	public Lands(final JavaPlugin plugin, final String name, final String version) {
+	public Lands(final PluginMain plugin, final String name, final String version) {
 		this.plugin = plugin;
 		this.name = name;
 		this.version = version;
@@ -76,7 +78,7 @@ public final class Lands extends ProtectionPluginAbstract implements ProtectionP
 		}
 		catch (Error | Exception e) {
 			logPlaceError(e.getLocalizedMessage());
-			if (plugin.getConfig().getBoolean("debug")) {
+			if (plugin.getSettings().debug()) {
 				e.printStackTrace();
 			}
 		}
@@ -85,6 +87,67 @@ public final class Lands extends ProtectionPluginAbstract implements ProtectionP
 	}
 
 
+	/**
+	 * Get the chunk that contains a location, as the key for caching placement checks. Lands claims whole chunks,
+	 * so the chunk is determined without an area lookup; the result for a chunk is taken from the first location
+	 * checked in the chunk, including for sub-areas within the chunk.
+	 *
+	 * @param player the player whose death chest will be placed
+	 * @param location the location where the death chest will be placed
+	 * @return Object - the chunk containing the location, or null if the location has no world
+	 */
+	@Override
+	public Object getPlacementRegionKey(final Player player, final Location location) {
+		if (location.getWorld() == null) {
+			return null;
+		}
+		return new ChunkKey(location.getWorld().getUID(), location.getBlockX() >> 4, location.getBlockZ() >> 4);
+	}
+
+
+	/**
+	 * Key for placement checks in a chunk
+	 */
+	private record ChunkKey(UUID worldUid, int chunkX, int chunkZ) { }
+
+
+	/**
+	 * Set placement allowed for all positions of a placement mask in unclaimed chunks.
+	 * Positions in claimed chunks are left unknown, because areas within a land may have different flags.
+	 *
+	 * @param player the player whose death chest will be placed
+	 * @param placementMask the mask to fill
+	 */
+	@Override
+	public void fillPlacementMask(final Player player, final PlacementMask placementMask) {
+		try {
+			for (int chunkX = placementMask.getMinX() >> 4; chunkX <= placementMask.getMaxX() >> 4; chunkX++) {
+				for (int chunkZ = placementMask.getMinZ() >> 4; chunkZ <= placementMask.getMaxZ() >> 4; chunkZ++) {
+
+					// if chunk is claimed, leave positions unknown
+					if (landsIntegration.getLandByChunk(placementMask.getWorld(), chunkX, chunkZ) != null) {
+						continue;
+					}
+
+					// set placement allowed for all columns of chunk within mask
+					for (int x = Math.max(chunkX << 4, placementMask.getMinX()); x <= Math.min((chunkX << 4) + 15, placementMask.getMaxX()); x++) {
+						for (int z = Math.max(chunkZ << 4, placementMask.getMinZ()); z <= Math.min((chunkZ << 4) + 15, placementMask.getMaxZ()); z++) {
+							placementMask.setColumn(x, z, true);
+						}
+					}
+				}
+			}
+		}
+		catch (Error | Exception e) {
+			// leave positions unknown, to be checked individually
+			logMaskError(e.getLocalizedMessage());
+			if (plugin.getSettings().debug()) {
+				e.printStackTrace();
+			}
+		}
+	}
+
+
 	/**
 	 * Check if Lands plugin will allow chest access at location by player
 	 *
@@ -104,7 +167,7 @@ public final class Lands extends ProtectionPluginAbstract implements ProtectionP
 		}
 		catch (Error | Exception e) {
 			logAccessError(e.getLocalizedMessage());
-			if (plugin.getConfig().getBoolean("debug")) {
+			if (plugin.getSettings().debug()) {
 				e.printStackTrace();
 			}
 		}
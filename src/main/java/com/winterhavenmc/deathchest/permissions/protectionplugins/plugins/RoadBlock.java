@@ -17,11 +17,11 @@
 
 package com.winterhavenmc.deathchest.permissions.protectionplugins.plugins;
 
+import com.winterhavenmc.deathchest.PluginMain;
 import com.winterhavenmc.deathchest.permissions.protectionplugins.ProtectionPlugin;
 import com.winterhavenmc.deathchest.permissions.protectionplugins.ProtectionPluginAbstract;
 import org.bukkit.Location;
 import org.bukkit.entity.Player;
-import org.bukkit.plugin.java.JavaPlugin;
 
 
 /**
@@ -37,7 +37,7 @@ public final class RoadBlock extends ProtectionPluginAbstract implements Protect
 	 * @param name name of the protection plugin
 	 * @param version version of the protection plugin
 	 */
-	public RoadBlock(final JavaPlugin plugin, final String name, final String version) {
+	public RoadBlock(final PluginMain plugin, final String name, final String version) {
 		this.plugin = plugin;
 		this.name = name;
 		this.version = version;
@@ -52,7 +52,7 @@ public final class RoadBlock extends ProtectionPluginAbstract implements Protect
 		}
 		catch (Error | Exception e) {
 			logPlaceError(e.getLocalizedMessage());
-			if (plugin.getConfig().getBoolean("debug")) {
+			if (plugin.getSettings().debug()) {
 				e.printStackTrace();
 			}
 		}
@@ -17,7 +17,9 @@
 
 package com.winterhavenmc.deathchest.permissions.protectionplugins.plugins;
 
+import com.winterhavenmc.deathchest.PluginMain;
 import com.palmergames.bukkit.towny.object.TownyPermission;
+import com.palmergames.bukkit.towny.object.WorldCoord;
 import com.palmergames.bukkit.towny.utils.PlayerCacheUtil;
 import com.winterhavenmc.deathchest.permissions.protectionplugins.ProtectionPlugin;
 import com.winterhavenmc.deathchest.permissions.protectionplugins.ProtectionPluginAbstract;
@@ -26,7 +28,6 @@ import me.angeschossen.lands.api.land.Area;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
-import org.bukkit.plugin.java.JavaPlugin;
 
 import java.util.Objects;
 
@@ -43,7 +44,7 @@ public final class Towny extends ProtectionPluginAbstract implements ProtectionP
 	 * @param name name of the protection plugin
 	 * @param version version of the protection plugin
 	 */
-	public Towny(final JavaPlugin plugin, final String name, final String version)
+	public Towny(final PluginMain plugin, final String name, final String version)
 	{
 		this.plugin = plugin;
 		this.name = name;
@@ -63,7 +64,7 @@ public final class Towny extends ProtectionPluginAbstract implements ProtectionP
 		catch (Error | Exception e)
 		{
 			logPlaceError(e.getLocalizedMessage());
-			if (plugin.getConfig().getBoolean("debug")) {
+			if (plugin.getSettings().debug()) {
 				e.printStackTrace();
 			}
 		}
@@ -72,6 +73,22 @@ public final class Towny extends ProtectionPluginAbstract implements ProtectionP
 	}
 
 
+	@Override
+	public Object getPlacementRegionKey(final Player player, final Location location)
+	{
+		// Towny permissions apply to whole town blocks, so the town block coordinate is the region key
+		try
+		{
+			return WorldCoord.parseWorldCoord(location);
+		}
+		catch (Error | Exception e)
+		{
+			// do not cache checks if town block cannot be determined
+			return null;
+		}
+	}
+
+
 	@Override
 	public boolean allowChestAccess(final Player player, final Location location)
 	{
@@ -84,7 +101,7 @@ public final class Towny extends ProtectionPluginAbstract implements ProtectionP
 		catch (Error | Exception e)
 		{
 			logAccessError(e.getLocalizedMessage());
-			if (plugin.getConfig().getBoolean("debug"))
+			if (plugin.getSettings().debug())
 			{
 				e.printStackTrace();
 			}
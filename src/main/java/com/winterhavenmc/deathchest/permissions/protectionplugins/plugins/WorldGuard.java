@@ -17,16 +17,28 @@
 
 package com.winterhavenmc.deathchest.permissions.protectionplugins.plugins;
 
+import com.winterhavenmc.deathchest.PluginMain;
 import com.sk89q.worldedit.bukkit.BukkitAdapter;
+import com.sk89q.worldedit.math.BlockVector3;
 import com.sk89q.worldguard.bukkit.WorldGuardPlugin;
 import com.sk89q.worldguard.protection.flags.Flags;
+import com.sk89q.worldguard.protection.managers.RegionManager;
+import com.sk89q.worldguard.protection.regions.ProtectedCuboidRegion;
+import com.sk89q.worldguard.protection.regions.ProtectedRegion;
 import com.sk89q.worldguard.protection.regions.RegionContainer;
 import com.sk89q.worldguard.protection.regions.RegionQuery;
+import com.winterhavenmc.deathchest.permissions.protectionplugins.PlacementMask;
 import com.winterhavenmc.deathchest.permissions.protectionplugins.ProtectionPlugin;
 import com.winterhavenmc.deathchest.permissions.protectionplugins.ProtectionPluginAbstract;
 import org.bukkit.Location;
 import org.bukkit.entity.Player;
-import org.bukkit.plugin.java.JavaPlugin;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 
 /**
@@ -45,7 +57,7 @@ public final class WorldGuard extends ProtectionPluginAbstract implements Protec
 	 * @param name name of the protection plugin
 	 * @param version version of the protection plugin
 	 */
-	public WorldGuard(final JavaPlugin plugin, final String name, final String version) {
+	public WorldGuard(final PluginMain plugin, final String name, final String version) {
 		this.plugin = plugin;
 		this.name = name;
 		this.version = version;
@@ -63,7 +75,7 @@ public final class WorldGuard extends ProtectionPluginAbstract implements Protec
 		}
 		catch (Error | Exception e) {
 			logPlaceError(e.getLocalizedMessage());
-			if (plugin.getConfig().getBoolean("debug")) {
+			if (plugin.getSettings().debug()) {
 				e.printStackTrace();
 			}
 		}
@@ -72,6 +84,95 @@ public final class WorldGuard extends ProtectionPluginAbstract implements Protec
 	}
 
 
+	@Override
+	public void fillPlacementMask(final Player player, final PlacementMask placementMask) {
+		try {
+			final RegionManager regionManager = regionContainer.get(BukkitAdapter.adapt(placementMask.getWorld()));
+			if (regionManager == null) {
+				return;
+			}
+
+			// get all regions that intersect the mask bounding box in a single lookup
+			final ProtectedRegion boundingBox = new ProtectedCuboidRegion("__deathchest_search__",
+					BlockVector3.at(placementMask.getMinX(), placementMask.getMinY(), placementMask.getMinZ()),
+					BlockVector3.at(placementMask.getMaxX(), placementMask.getMaxY(), placementMask.getMaxZ()));
+			final List<ProtectedRegion> regions = new ArrayList<>(regionManager.getApplicableRegions(boundingBox).getRegions());
+
+			// if no regions intersect the bounding box, the build flag state is the same at all positions
+			if (regions.isEmpty()) {
+				placementMask.fill(allowChestPlacement(player, new Location(placementMask.getWorld(),
+						placementMask.getMinX(), placementMask.getMinY(), placementMask.getMinZ())));
+				return;
+			}
+
+			// the build flag state is the same at all positions with the same set of regions, so check once per set
+			final Map<Set<ProtectedRegion>, Boolean> results = new HashMap<>();
+
+			// regions whose bounds contain the current column, and the regions that contain the current position
+			final List<ProtectedRegion> columnRegions = new ArrayList<>(regions.size());
+			final Set<ProtectedRegion> containing = new HashSet<>();
+
+			for (int x = placementMask.getMinX(); x <= placementMask.getMaxX(); x++) {
+				for (int z = placementMask.getMinZ(); z <= placementMask.getMaxZ(); z++) {
+
+					// get regions that contain the column, testing bounds from region min and max points first
+					columnRegions.clear();
+					for (ProtectedRegion region : regions) {
+						final BlockVector3 min = region.getMinimumPoint();
+						final BlockVector3 max = region.getMaximumPoint();
+						if (x >= min.getBlockX() && x <= max.getBlockX() && z >= min.getBlockZ() && z <= max.getBlockZ()
+								&& region.contains(x, min.getBlockY(), z)) {
+							columnRegions.add(region);
+						}
+					}
+
+					// if no regions contain the column, the set of regions is empty at all positions in the column
+					if (columnRegions.isEmpty()) {
+						containing.clear();
+						placementMask.setColumn(x, z, getResult(results, containing, player, placementMask, x, placementMask.getMinY(), z));
+						continue;
+					}
+
+					// a region that contains the column contains each position in the column within its height range
+					for (int y = placementMask.getMinY(); y <= placementMask.getMaxY(); y++) {
+						containing.clear();
+						for (ProtectedRegion region : columnRegions) {
+							if (y >= region.getMinimumPoint().getBlockY() && y <= region.getMaximumPoint().getBlockY()) {
+								containing.add(region);
+							}
+						}
+						placementMask.set(x, y, z, getResult(results, containing, player, placementMask, x, y, z));
+					}
+				}
+			}
+		}
+		catch (Error | Exception e) {
+			// leave positions unknown, to be checked individually
+			logMaskError(e.getLocalizedMessage());
+			if (plugin.getSettings().debug()) {
+				e.printStackTrace();
+			}
+		}
+	}
+
+
+	/**
+	 * Get the placement result for a set of regions, checking placement at a position in the set if it is not known
+	 */
+	private boolean getResult(final Map<Set<ProtectedRegion>, Boolean> results,
+	                          final Set<ProtectedRegion> containing,
+	                          final Player player,
+	                          final PlacementMask placementMask,
+	                          final int x, final int y, final int z) {
+		Boolean allowed = results.get(containing);
+		if (allowed == null) {
+			allowed = allowChestPlacement(player, new Location(placementMask.getWorld(), x, y, z));
+			results.put(Set.copyOf(containing), allowed);
+		}
+		return allowed;
+	}
+
+
 	@Override
 	public boolean allowChestAccess(final Player player, final Location location) {
 		try {
@@ -81,7 +182,7 @@ public final class WorldGuard extends ProtectionPluginAbstract implements Protec
 		}
 		catch (Error | Exception e) {
 			logAccessError(e.getLocalizedMessage());
-			if (plugin.getConfig().getBoolean("debug")) {
+			if (plugin.getSettings().debug()) {
 				e.printStackTrace();
 			}
 		}
@@ -18,10 +18,15 @@
 package com.winterhavenmc.deathchest.storage;
 
 import com.winterhavenmc.deathchest.PluginMain;
+import com.winterhavenmc.deathchest.chests.ChestAction;
 import com.winterhavenmc.deathchest.chests.ChestBlock;
+import com.winterhavenmc.deathchest.chests.ChestChunk;
 import com.winterhavenmc.deathchest.chests.DeathChestRecord;
 
 import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 
 
 /**
@@ -70,6 +75,23 @@ public interface DataStore
 	Collection<ChestBlock> selectAllBlockRecords();
 
 
+	/**
+	 * Retrieve a collection of the block records in a chunk from the datastore
+	 *
+	 * @param chestChunk the chunk whose block records are retrieved
+	 * @return List of ChestBlock
+	 */
+	Collection<ChestBlock> selectBlockRecords(final ChestChunk chestChunk);
+
+
+	/**
+	 * Retrieve the chunks that contain blocks of each chest in the datastore, without reading the blocks
+	 *
+	 * @return Map of chest UUID to the set of chunks that contain its blocks
+	 */
+	Map<UUID, Set<ChestChunk>> selectBlockChunks();
+
+
 	/**
 	 * Insert block records in the datastore
 	 *
@@ -86,6 +108,23 @@ public interface DataStore
 	void deleteBlockRecord(final ChestBlock chestBlock);
 
 
+	/**
+	 * Retrieve all deferred chest operations from the datastore
+	 *
+	 * @return Map of chest UUID to deferred action, in the order the actions were deferred
+	 */
+	Map<UUID, ChestAction> selectPendingOperations();
+
+
+	/**
+	 * Insert a deferred chest operation in the datastore. The record is deleted with its chest record.
+	 *
+	 * @param chestUid the UUID of the chest
+	 * @param action the deferred action on the chest
+	 */
+	void insertPendingOperation(final UUID chestUid, final ChestAction action);
+
+
 	/**
 	 * Close the datastore
 	 */
@@ -124,6 +163,14 @@ public interface DataStore
 	int getChestCount();
 
 
+	/**
+	 * Get the size of the datastore write-ahead log, if the datastore uses one
+	 *
+	 * @return the size of the write-ahead log in bytes, or zero if there is none
+	 */
+	long getWalSize();
+
+
 	/**
 	 * Create new data store of given type and convert old data store.<br>
 	 * Two parameter version used when a datastore instance already exists
@@ -147,7 +194,7 @@ public interface DataStore
 		catch (Exception e)
 		{
 			plugin.getLogger().severe("Could not initialize " + newDataStore + " datastore!");
-			if (plugin.getConfig().getBoolean("debug"))
+			if (plugin.getSettings().debug())
 			{
 				e.printStackTrace();
 			}
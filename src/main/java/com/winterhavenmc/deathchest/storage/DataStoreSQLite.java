@@ -18,16 +18,28 @@
 package com.winterhavenmc.deathchest.storage;
 
 import com.winterhavenmc.deathchest.PluginMain;
+import com.winterhavenmc.deathchest.chests.ChestAction;
 import com.winterhavenmc.deathchest.chests.ChestBlock;
+import com.winterhavenmc.deathchest.chests.ChestChunk;
 import com.winterhavenmc.deathchest.chests.DeathChestRecord;
+import com.winterhavenmc.deathchest.chests.WorldId;
 import org.bukkit.World;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.MemoryConfiguration;
 import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
 
 import java.io.File;
 import java.sql.*;
 import java.time.Instant;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
@@ -47,9 +59,28 @@ final class DataStoreSQLite extends DataStoreAbstract implements DataStore
 	// file path for datastore file
 	private final String dataFilePath;
 
+	// current schema version
+	private static final int SCHEMA_VERSION = 3;
+
 	// schema version
 	private int schemaVersion;
 
+	// single writer thread for queued inserts and deletes
+	private final DataStoreWriter writer;
+
+	// prepared statements for the current connection, keyed by query name
+	private final Map<String, PreparedStatement> statementCache;
+
+	// valid values for configurable journal mode and synchronous pragmas
+	private static final Set<String> JOURNAL_MODES = Set.of("DELETE", "TRUNCATE", "PERSIST", "MEMORY", "WAL", "OFF");
+	private static final Set<String> SYNCHRONOUS_MODES = Set.of("OFF", "NORMAL", "FULL", "EXTRA");
+
+	// journal mode reported by the database after configuration
+	private String journalMode = "DELETE";
+
+	// scheduled wal checkpoint task
+	private BukkitTask checkpointTask;
+
 
 	/**
 	 * Class constructor
@@ -66,6 +97,12 @@ final class DataStoreSQLite extends DataStoreAbstract implements DataStore
 
 		// set datastore file path
 		this.dataFilePath = plugin.getDataFolder() + File.separator + type.getStorageName();
+
+		// create datastore writer
+		this.writer = new DataStoreWriter(plugin, this);
+
+		// create prepared statement cache
+		this.statementCache = new HashMap<>();
 	}
 
 
@@ -95,14 +132,24 @@ final class DataStoreSQLite extends DataStoreAbstract implements DataStore
 		// create a database connection
 		connection = DriverManager.getConnection(dbUrl);
 
-		final Statement statement = connection.createStatement();
+		try (Statement statement = connection.createStatement())
+		{
+			// enable foreign keys
+			statement.executeUpdate(Queries.getQuery("EnableForeignKeys"));
 
-		// enable foreign keys
-		statement.executeUpdate(Queries.getQuery("EnableForeignKeys"));
+			// set journal mode, synchronous mode and cache settings from config
+			configureConnection(statement);
+		}
 
 		// update database schema if necessary
 		updateSchema();
 
+		// start datastore writer thread
+		writer.start();
+
+		// start scheduled wal checkpoints
+		startCheckpointTask();
+
 		// set initialized true
 		setInitialized(true);
 
@@ -111,16 +158,144 @@ final class DataStoreSQLite extends DataStoreAbstract implements DataStore
 	}
 
 
-	private int getStoredSchemaVersion()
+	/**
+	 * Apply the pragmas configured in the storage.sqlite section of the config file to the connection
+	 *
+	 * @param statement a statement on the current connection
+	 * @throws SQLException if a pragma could not be applied
+	 */
+	private void configureConnection(final Statement statement) throws SQLException
 	{
-		int version = -1;
+		final ConfigurationSection config = getSQLiteConfig();
 
-		try
+		// busy timeout is set first, so that changing journal mode can wait for other connections
+		statement.execute("PRAGMA busy_timeout = " + Math.max(0, config.getInt("busy-timeout", 5000)));
+
+		// set journal mode if valid, and record the mode actually in use
+		final String configJournalMode = config.getString("journal-mode", "WAL").toUpperCase(Locale.ROOT);
+		if (JOURNAL_MODES.contains(configJournalMode))
+		{
+			try (ResultSet rs = statement.executeQuery("PRAGMA journal_mode = " + configJournalMode))
+			{
+				if (rs.next())
+				{
+					journalMode = rs.getString(1).toUpperCase(Locale.ROOT);
+				}
+			}
+		}
+		else
 		{
-			final Statement statement = connection.createStatement();
+			plugin.getLogger().warning("Invalid SQLite journal mode '" + configJournalMode + "' in config.");
+		}
+
+		// set synchronous mode if valid
+		final String synchronousMode = config.getString("synchronous", "NORMAL").toUpperCase(Locale.ROOT);
+		if (SYNCHRONOUS_MODES.contains(synchronousMode))
+		{
+			statement.execute("PRAGMA synchronous = " + synchronousMode);
+		}
+		else
+		{
+			plugin.getLogger().warning("Invalid SQLite synchronous mode '" + synchronousMode + "' in config.");
+		}
+
+		// set page cache size (negative values are in KiB, positive values are in pages)
+		statement.execute("PRAGMA cache_size = " + config.getInt("cache-size", -8000));
 
-			ResultSet rs = statement.executeQuery(Queries.getQuery("GetUserVersion"));
+		// set maximum size of memory mapped i/o in bytes
+		statement.execute("PRAGMA mmap_size = " + Math.max(0L, config.getLong("mmap-size", 0L)));
 
+		if (plugin.getSettings().debug())
+		{
+			plugin.getLogger().info(this + " datastore journal mode: " + journalMode);
+		}
+	}
+
+
+	/**
+	 * Get the storage.sqlite section of the config file, or an empty section if it is not present
+	 *
+	 * @return the sqlite configuration section
+	 */
+	private ConfigurationSection getSQLiteConfig()
+	{
+		final ConfigurationSection config = plugin.getConfig().getConfigurationSection("storage.sqlite");
+		return (config != null) ? config : new MemoryConfiguration();
+	}
+
+
+	/**
+	 * Start a repeating asynchronous task that checkpoints the write-ahead log,
+	 * if the database is in wal mode and a checkpoint interval is configured
+	 */
+	private void startCheckpointTask()
+	{
+		final long intervalSeconds = getSQLiteConfig().getLong("checkpoint-interval", 300L);
+
+		if (!journalMode.equals("WAL") || intervalSeconds <= 0)
+		{
+			return;
+		}
+
+		final long intervalTicks = TimeUnit.SECONDS.toMillis(intervalSeconds) / 50;
+
+		checkpointTask = new BukkitRunnable()
+		{
+			@Override
+			public void run()
+			{
+				checkpoint();
+			}
+		}.runTaskTimerAsynchronously(plugin, intervalTicks, intervalTicks);
+	}
+
+
+	/**
+	 * Run a passive checkpoint of the write-ahead log. A passive checkpoint copies as many frames
+	 * as it can without waiting for readers or writers, and never blocks the connection.
+	 */
+	synchronized void checkpoint()
+	{
+		if (!isInitialized())
+		{
+			return;
+		}
+
+		try (ResultSet rs = getPreparedStatement("WalCheckpoint").executeQuery())
+		{
+			if (rs.next() && plugin.getSettings().debug())
+			{
+				plugin.getLogger().info(this + " datastore wal checkpoint: " + rs.getInt(3)
+						+ " of " + rs.getInt(2) + " frames checkpointed.");
+			}
+		}
+		catch (SQLException e)
+		{
+			plugin.getLogger().warning("An error occurred while checkpointing the " + this + " datastore.");
+			plugin.getLogger().warning(e.getMessage());
+			if (plugin.getSettings().debug())
+			{
+				e.printStackTrace();
+			}
+		}
+	}
+
+
+	@Override
+	public long getWalSize()
+	{
+		final File walFile = new File(dataFilePath + "-wal");
+		return walFile.exists() ? walFile.length() : 0L;
+	}
+
+
+	private int getStoredSchemaVersion()
+	{
+		int version = -1;
+
+		try (Statement statement = connection.createStatement();
+		     ResultSet rs = statement.executeQuery(Queries.getQuery("GetUserVersion")))
+		{
 			while (rs.next())
 			{
 				version = rs.getInt(1);
@@ -130,7 +305,7 @@ final class DataStoreSQLite extends DataStoreAbstract implements DataStore
 		{
 			plugin.getLogger().warning("Could not get schema version for the " + this + " datastore!");
 			plugin.getLogger().warning(e.getLocalizedMessage());
-			if (plugin.getConfig().getBoolean("debug"))
+			if (plugin.getSettings().debug())
 			{
 				e.printStackTrace();
 			}
@@ -143,58 +318,68 @@ final class DataStoreSQLite extends DataStoreAbstract implements DataStore
 	{
 		this.schemaVersion = getStoredSchemaVersion();
 
-		if (plugin.getConfig().getBoolean("debug"))
+		if (plugin.getSettings().debug())
 		{
 			plugin.getLogger().info("Current schema version: " + schemaVersion);
 		}
 
-		final Statement statement = connection.createStatement();
-
-//		if (this.schemaVersion == 0)
-//		{
-//			Collection<DeathChestRecord> existingChestRecords = Collections.emptySet();
-//			Collection<ChestBlock> existingBlockRecords = Collections.emptySet();
-//
-//			ResultSet chestTable = statement.executeQuery(Queries.getQuery("SelectDeathChestTable"));
-//			if (chestTable.next())
-//			{
-//				existingChestRecords = selectAllChestRecords();
-//			}
-//
-//			ResultSet blockTable = statement.executeQuery(Queries.getQuery("SelectDeathBlockTable"));
-//			if (blockTable.next())
-//			{
-//				existingBlockRecords = selectAllBlockRecords();
-//			}
-//
-//			statement.executeUpdate(Queries.getQuery("dropDeathChestTable"));
-//			statement.executeUpdate(Queries.getQuery("CreateDeathChestTable"));
-//
-//			statement.executeUpdate(Queries.getQuery("DropDeathBlockTable"));
-//			statement.executeUpdate(Queries.getQuery("CreateDeathBlockTable"));
-//
-//
-//			int chestCount = insertChestRecordsSync(existingChestRecords);
-//			plugin.getLogger().info(chestCount + " death chest records migrated to schema v1 in the " +
-//					this + " datastore.");
-//
-//			int blockCount = insertBlockRecordsSync(existingBlockRecords);
-//			plugin.getLogger().info(blockCount + " death block records migrated to schema v1 in the " +
-//					this + " datastore.");
-//
-//			// update schema version in database
-//			statement.executeUpdate("PRAGMA user_version = 1");
-//
-//			// update schema version field
-//			schemaVersion = 1;
-//		}
-
-		// execute death chest table creation statement
-		statement.executeUpdate(Queries.getQuery("CreateDeathChestTable"));
-
-		// execute death block table creation statement
-		statement.executeUpdate(Queries.getQuery("CreateDeathBlockTable"));
-	}
+		try (Statement statement = connection.createStatement())
+		{
+			// check for a block table created by an earlier schema version, before tables are created
+			final boolean blockTableExists;
+			try (ResultSet rs = statement.executeQuery(Queries.getQuery("SelectDeathBlockTable")))
+			{
+				blockTableExists = rs.next();
+			}
+
+			connection.setAutoCommit(false);
+
+			try
+			{
+				// execute death chest table creation statement
+				statement.executeUpdate(Queries.getQuery("CreateDeathChestTable"));
+
+				// execute death block table creation statement
+				statement.executeUpdate(Queries.getQuery("CreateDeathBlockTable"));
+
+				// execute pending operation table creation statement
+				statement.executeUpdate(Queries.getQuery("CreatePendingOperationTable"));
+
+				// add chunk key column to existing block table and populate it from block coordinates
+				if (schemaVersion < 2 && blockTableExists)
+				{
+					statement.executeUpdate(Queries.getQuery("AddBlockChunkKeyColumn"));
+					int blockCount = statement.executeUpdate(Queries.getQuery("UpdateBlockChunkKeys"));
+					plugin.getLogger().info(blockCount + " death block records migrated to schema v"
+							+ SCHEMA_VERSION + " in the " + this + " datastore.");
+				}
+
+				// create secondary indexes
+				statement.executeUpdate(Queries.getQuery("CreateChestOwnerIndex"));
+				statement.executeUpdate(Queries.getQuery("CreateChestExpirationIndex"));
+				statement.executeUpdate(Queries.getQuery("CreateBlockChunkIndex"));
+				statement.executeUpdate(Queries.getQuery("CreateBlockChestIndex"));
+
+				// update schema version in database
+				if (schemaVersion < SCHEMA_VERSION)
+				{
+					statement.executeUpdate("PRAGMA user_version = " + SCHEMA_VERSION);
+					schemaVersion = SCHEMA_VERSION;
+				}
+
+				connection.commit();
+			}
+			catch (SQLException e)
+			{
+				rollback();
+				throw e;
+			}
+			finally
+			{
+				connection.setAutoCommit(true);
+			}
+		}
+		}
 
 
 	/**
@@ -205,6 +390,19 @@ final class DataStoreSQLite extends DataStoreAbstract implements DataStore
 	{
 		if (isInitialized())
 		{
+			// stop scheduled wal checkpoints
+			if (checkpointTask != null)
+			{
+				checkpointTask.cancel();
+				checkpointTask = null;
+			}
+
+			// stop writer thread and commit any queued writes
+			writer.shutdown();
+
+			// close cached prepared statements
+			closeStatements();
+
 			try
 			{
 				connection.close();
@@ -215,7 +413,7 @@ final class DataStoreSQLite extends DataStoreAbstract implements DataStore
 				plugin.getLogger().warning("An error occurred while closing the " +
 						this + " datastore connection.");
 				plugin.getLogger().warning(e.getMessage());
-				if (plugin.getConfig().getBoolean("debug"))
+				if (plugin.getSettings().debug())
 				{
 					e.printStackTrace();
 				}
@@ -228,7 +426,8 @@ final class DataStoreSQLite extends DataStoreAbstract implements DataStore
 	@Override
 	public void sync()
 	{
-		// no action necessary for this storage type
+		// commit any queued writes
+		writer.flush();
 	}
 
 
@@ -246,14 +445,12 @@ final class DataStoreSQLite extends DataStoreAbstract implements DataStore
 
 
 	@Override
-	public int getChestCount()
+	public synchronized int getChestCount()
 	{
 		int count = 0;
 
-		try
+		try (ResultSet rs = getPreparedStatement("SelectChestCount").executeQuery())
 		{
-			PreparedStatement preparedStatement = connection.prepareStatement(Queries.getQuery("SelectChestCount"));
-			ResultSet rs = preparedStatement.executeQuery();
 			if (rs.next())
 			{
 				count = rs.getInt("ChestCount");
@@ -269,57 +466,83 @@ final class DataStoreSQLite extends DataStoreAbstract implements DataStore
 
 
 	@Override
-	public Collection<ChestBlock> selectAllBlockRecords()
+	public synchronized Collection<ChestBlock> selectAllBlockRecords()
+	{
+		return selectBlockRecords("SelectAllBlocks", preparedStatement -> { });
+	}
+
+
+	@Override
+	public synchronized Collection<ChestBlock> selectBlockRecords(final ChestChunk chestChunk)
+	{
+		return selectBlockRecords("SelectBlocksInChunk", preparedStatement -> {
+			preparedStatement.setLong(1, chestChunk.worldUid().getMostSignificantBits());
+			preparedStatement.setLong(2, chestChunk.worldUid().getLeastSignificantBits());
+			preparedStatement.setLong(3, chestChunk.chunkKey());
+		});
+	}
+
+
+	/**
+	 * Select block records using the named query
+	 *
+	 * @param queryName the name of the query in the queries properties file
+	 * @param binder the function that sets the parameters of the query
+	 * @return Collection of ChestBlock
+	 */
+	private Collection<ChestBlock> selectBlockRecords(final String queryName, final WriteOperation.StatementBinder binder)
 	{
 		final Collection<ChestBlock> results = new HashSet<>();
 
 		try
 		{
-			PreparedStatement preparedStatement = connection.prepareStatement(Queries.getQuery("SelectAllBlocks"));
+			final PreparedStatement preparedStatement = getPreparedStatement(queryName);
+			binder.bind(preparedStatement);
 
 			// execute sql query
-			ResultSet rs = preparedStatement.executeQuery();
-
-			while (rs.next())
+			try (ResultSet rs = preparedStatement.executeQuery())
 			{
-				final String worldName = rs.getString("WorldName");
-				final int x = rs.getInt("X");
-				final int y = rs.getInt("Y");
-				final int z = rs.getInt("Z");
+				while (rs.next())
+				{
+					final String worldName = rs.getString("WorldName");
+					final int x = rs.getInt("X");
+					final int y = rs.getInt("Y");
+					final int z = rs.getInt("Z");
 
-				final UUID chestUid = new UUID(rs.getLong("ChestUidMsb"), rs.getLong("chestUidLsb"));
-				final UUID worldUid = new UUID(rs.getLong("WorldUidMsb"), rs.getLong("WorldUidLsb"));
+					final UUID chestUid = new UUID(rs.getLong("ChestUidMsb"), rs.getLong("chestUidLsb"));
+					final UUID worldUid = new UUID(rs.getLong("WorldUidMsb"), rs.getLong("WorldUidLsb"));
 
-				// get server world by uuid
-				final World world = plugin.getServer().getWorld(worldUid);
+					// get server world by uuid
+					final World world = plugin.getServer().getWorld(worldUid);
 
-				// if server world is null, skip adding record to return set
-				if (world == null)
-				{
-					// delete all records expired more than 30 days in database that have this invalid world
-					deleteOrphanedChests(worldName);
-					continue;
-				}
+					// if server world is null, skip adding record to return set
+					if (world == null)
+					{
+						// delete all records expired more than 30 days in database that have this invalid world
+						deleteOrphanedChests(worldName);
+						continue;
+					}
 
-				// create chest block object from retrieved record
-				ChestBlock chestBlock = new ChestBlock(chestUid, world.getName(), world.getUID(), x, y, z, 0, 0);
+					// create chest block object from retrieved record
+					ChestBlock chestBlock = new ChestBlock(chestUid, world.getName(), world.getUID(), x, y, z);
 
-				// add DeathChestObject to results set
-				results.add(chestBlock);
+					// add DeathChestObject to results set
+					results.add(chestBlock);
+				}
 			}
 		}
 		catch (SQLException e)
 		{
 			plugin.getLogger().warning("An error occurred while trying to "
-					+ "select all block records from the " + this + " datastore.");
+					+ "select block records from the " + this + " datastore.");
 			plugin.getLogger().warning(e.getLocalizedMessage());
-			if (plugin.getConfig().getBoolean("debug"))
+			if (plugin.getSettings().debug())
 			{
 				e.printStackTrace();
 			}
 		}
 
-		if (plugin.getConfig().getBoolean("debug"))
+		if (plugin.getSettings().debug())
 		{
 			plugin.getLogger().info(results.size() + " block records selected from the " + this + " datastore.");
 		}
@@ -329,15 +552,46 @@ final class DataStoreSQLite extends DataStoreAbstract implements DataStore
 
 
 	@Override
-	public Collection<DeathChestRecord> selectAllChestRecords()
+	public synchronized Map<UUID, Set<ChestChunk>> selectBlockChunks()
 	{
-		final Collection<DeathChestRecord> results = new HashSet<>();
+		final Map<UUID, Set<ChestChunk>> results = new HashMap<>();
 
-		try
+		try (ResultSet rs = getPreparedStatement("SelectBlockChunks").executeQuery())
 		{
-			PreparedStatement preparedStatement = connection.prepareStatement(Queries.getQuery("SelectAllChests"));
-			ResultSet rs = preparedStatement.executeQuery();
+			while (rs.next())
+			{
+				final UUID chestUid = new UUID(rs.getLong("ChestUidMsb"), rs.getLong("ChestUidLsb"));
+				final UUID worldUid = new UUID(rs.getLong("WorldUidMsb"), rs.getLong("WorldUidLsb"));
 
+				results.computeIfAbsent(chestUid, k -> new HashSet<>()).add(new ChestChunk(worldUid, rs.getLong("ChunkKey")));
+			}
+		}
+		catch (SQLException e)
+		{
+			plugin.getLogger().warning("An error occurred while trying to "
+					+ "select block chunks from the " + this + " datastore.");
+			plugin.getLogger().warning(e.getLocalizedMessage());
+			if (plugin.getSettings().debug())
+			{
+				e.printStackTrace();
+			}
+		}
+
+		return results;
+	}
+
+
+	@Override
+	public synchronized Collection<DeathChestRecord> selectAllChestRecords()
+	{
+		final Collection<DeathChestRecord> results = new HashSet<>();
+
+		// canonical instances of uuids and names that are repeated across chest records, such as owners and killers
+		final Map<UUID, UUID> uuids = new HashMap<>();
+		final Map<String, String> names = new HashMap<>();
+
+		try (ResultSet rs = getPreparedStatement("SelectAllChests").executeQuery())
+		{
 			while (rs.next())
 			{
 
@@ -345,30 +599,33 @@ final class DataStoreSQLite extends DataStoreAbstract implements DataStore
 				final UUID chestUid = new UUID(rs.getLong("ChestUidMsb"), rs.getLong("ChestUidLsb"));
 
 				// convert owner uuid from stored components
-				final UUID ownerUid = new UUID(rs.getLong("OwnerUidMsb"), rs.getLong("OwnerUidLsb"));
+				final UUID ownerUid = uuids.computeIfAbsent(
+						new UUID(rs.getLong("OwnerUidMsb"), rs.getLong("OwnerUidLsb")), k -> k);
 
 				// convert killer uuid from stored components
-				final UUID killerUid = new UUID(rs.getLong("KillerUidMsb"), rs.getLong("KillerUidLsb"));
+				final UUID killerUid = uuids.computeIfAbsent(
+						new UUID(rs.getLong("KillerUidMsb"), rs.getLong("KillerUidLsb")), k -> k);
 
 				// get protection expiration time
 				final long protectionExpirationTime = rs.getLong("ProtectionExpirationTime");
 
 				// get owner name string
-				final String ownerName = rs.getString("OwnerName");
+				final String ownerName = intern(names, rs.getString("OwnerName"));
 
 				// get killer name string
-				final String killerName = rs.getString("KillerName");
+				final String killerName = intern(names, rs.getString("KillerName"));
 
 				// set other fields in deathChestBlock from database fields
 				int itemCount = rs.getInt("ItemCount");
 				long placementTime = rs.getLong("PlacementTime");
 				long expirationTime = rs.getLong("ExpirationTime");
 
-				final UUID worldUid = new UUID(rs.getLong("WorldUidMsb"), rs.getLong("WorldUidLsb"));
-				String worldName = rs.getString("WorldName");
-				int locationX = rs.getInt("LocationX");
-				int locationY = rs.getInt("LocationY");
-				int locationZ = rs.getInt("LocationZ");
+				// get interned world uid and name
+				final WorldId worldId = WorldId.of(new UUID(rs.getLong("WorldUidMsb"), rs.getLong("WorldUidLsb")),
+						rs.getString("WorldName"));
+				int locationX = rs.getInt("X");
+				int locationY = rs.getInt("Y");
+				int locationZ = rs.getInt("Z");
 
 				DeathChestRecord deathChest = new DeathChestRecord(
 						chestUid,
@@ -376,8 +633,8 @@ final class DataStoreSQLite extends DataStoreAbstract implements DataStore
 						ownerName,
 						killerUid,
 						killerName,
-						worldUid,
-						worldName,
+						worldId.uid(),
+						worldId.name(),
 						locationX,
 						locationY,
 						locationZ,
@@ -396,13 +653,13 @@ final class DataStoreSQLite extends DataStoreAbstract implements DataStore
 					"select all chest records from the " + this + " datastore.");
 			plugin.getLogger().warning(e.getMessage());
 
-			if (plugin.getConfig().getBoolean("debug"))
+			if (plugin.getSettings().debug())
 			{
 				e.printStackTrace();
 			}
 		}
 
-		if (plugin.getConfig().getBoolean("debug"))
+		if (plugin.getSettings().debug())
 		{
 			plugin.getLogger().info(results.size() + " chest records selected from the " + this + " datastore.");
 		}
@@ -410,26 +667,24 @@ final class DataStoreSQLite extends DataStoreAbstract implements DataStore
 	}
 
 
-	@Override
-	public synchronized int insertChestRecords(final Collection<DeathChestRecord> deathChests)
+	/**
+	 * Get the canonical instance of a string from a map of canonical instances
+	 *
+	 * @param names map of canonical string instances
+	 * @param name the string
+	 * @return the canonical instance of the string, or null if the passed string is null
+	 */
+	private static String intern(final Map<String, String> names, final String name)
 	{
-		new BukkitRunnable()
-		{
-			@Override
-			public void run()
-			{
-				insertChestRecordsSync(deathChests);
-			}
-		}.runTaskAsynchronously(plugin);
-
-		return deathChests.size();
+		return (name != null)
+				? names.computeIfAbsent(name, k -> k)
+				: null;
 	}
 
 
-	public synchronized int insertChestRecordsSync(final Collection<DeathChestRecord> deathChests)
+	@Override
+	public int insertChestRecords(final Collection<DeathChestRecord> deathChests)
 	{
-		int count = 0;
-
 		for (DeathChestRecord deathChest : deathChests)
 		{
 			// if deathChest is null, skip to next
@@ -438,226 +693,355 @@ final class DataStoreSQLite extends DataStoreAbstract implements DataStore
 				continue;
 			}
 
-			try
+			// queue chest record insert
+			writer.submit(WriteOperation.insertChest(deathChest));
+
+			// queue inserts for chest blocks after chest record, to satisfy foreign key constraint
+			if (plugin.chestManager != null)
 			{
-				// create prepared statement
-				PreparedStatement preparedStatement = connection.prepareStatement(Queries.getQuery("InsertChestRecord"));
-
-				preparedStatement.setLong(1, deathChest.chestUid().getMostSignificantBits());
-				preparedStatement.setLong(2, deathChest.chestUid().getLeastSignificantBits());
-				preparedStatement.setLong(3, deathChest.ownerUid().getMostSignificantBits());
-				preparedStatement.setLong(4, deathChest.ownerUid().getLeastSignificantBits());
-				preparedStatement.setString(5, deathChest.ownerName());
-				preparedStatement.setLong(6, deathChest.killerUid().getMostSignificantBits());
-				preparedStatement.setLong(7, deathChest.killerUid().getLeastSignificantBits());
-				preparedStatement.setString(8, deathChest.killerName());
-				preparedStatement.setLong(9, deathChest.worldUid().getMostSignificantBits());
-				preparedStatement.setLong(10, deathChest.worldUid().getLeastSignificantBits());
-				preparedStatement.setString(11, deathChest.worldName());
-				preparedStatement.setInt(12, deathChest.locationX());
-				preparedStatement.setInt(13, deathChest.locationY());
-				preparedStatement.setInt(14, deathChest.locationZ());
-				preparedStatement.setInt(15, deathChest.itemCount());
-				preparedStatement.setLong(16, deathChest.placementTime().toEpochMilli());
-				preparedStatement.setLong(17, deathChest.expirationTime().toEpochMilli());
-				preparedStatement.setLong(18, deathChest.protectionTime().toEpochMilli());
-
-				// execute prepared statement
-				int rowsAffected = preparedStatement.executeUpdate();
-
-				count += rowsAffected;
+				insertBlockRecords(plugin.chestManager.getBlocks(deathChest.chestUid()));
 			}
-			catch (SQLException e)
+		}
+
+		return deathChests.size();
+	}
+
+
+	@Override
+	public int insertBlockRecords(final Collection<ChestBlock> blockRecords)
+	{
+		for (ChestBlock blockRecord : blockRecords)
+		{
+			// if blockRecord is null, skip to next record in collection
+			if (blockRecord == null)
 			{
-				plugin.getLogger().warning("An error occurred while inserting a DeathChest into the " +
-						"SQLite datastore.");
-				plugin.getLogger().warning(e.getMessage());
-				if (plugin.getConfig().getBoolean("debug"))
-				{
-					e.printStackTrace();
-				}
+				continue;
 			}
 
-			// insert chest blocks into datastore
-			insertBlockRecords(plugin.chestManager.getBlocks(deathChest.chestUid()));
+			// queue block record insert
+			writer.submit(WriteOperation.insertBlock(blockRecord));
 		}
 
-		// output debugging information
-		if (plugin.getConfig().getBoolean("debug"))
+		return blockRecords.size();
+	}
+
+
+	@Override
+	public void deleteChestRecord(final DeathChestRecord deathChest)
+	{
+		// if passed deathChest is null, do nothing and return
+		if (deathChest == null)
 		{
-			plugin.getLogger().info(count + " chest records inserted into the " +
-					"SQLite datastore.");
+			return;
 		}
 
-		return deathChests.size();
+		// queue chest record delete
+		writer.submit(WriteOperation.deleteChest(deathChest));
 	}
 
 
 	@Override
-	synchronized public int insertBlockRecords(final Collection<ChestBlock> blockRecords)
+	public void deleteBlockRecord(final ChestBlock chestBlock)
 	{
-		new BukkitRunnable()
+		// if passed chestBlock is null, do nothing and return
+		if (chestBlock == null)
 		{
-			@Override
-			public void run()
+			return;
+		}
+
+		// queue block record delete
+		writer.submit(WriteOperation.deleteBlock(chestBlock));
+	}
+
+
+	@Override
+	public synchronized Map<UUID, ChestAction> selectPendingOperations()
+	{
+		final Map<UUID, ChestAction> results = new LinkedHashMap<>();
+
+		try (ResultSet rs = getPreparedStatement("SelectAllPendingOperations").executeQuery())
+		{
+			while (rs.next())
 			{
-				insertBlockRecordsSync(blockRecords);
+				final UUID chestUid = new UUID(rs.getLong("ChestUidMsb"), rs.getLong("ChestUidLsb"));
+
+				try
+				{
+					results.put(chestUid, ChestAction.valueOf(rs.getString("Action")));
+				}
+				catch (IllegalArgumentException e)
+				{
+					plugin.getLogger().warning("Unknown pending operation '" + rs.getString("Action")
+							+ "' for chest " + chestUid + " in the " + this + " datastore.");
+				}
 			}
-		}.runTaskAsynchronously(plugin);
+		}
+		catch (SQLException e)
+		{
+			plugin.getLogger().warning("An error occurred while trying to "
+					+ "select pending operations from the " + this + " datastore.");
+			plugin.getLogger().warning(e.getLocalizedMessage());
+			if (plugin.getSettings().debug())
+			{
+				e.printStackTrace();
+			}
+		}
 
-		return blockRecords.size();
+		return results;
 	}
 
 
-	int insertBlockRecordsSync(final Collection<ChestBlock> blockRecords)
+	@Override
+	public void insertPendingOperation(final UUID chestUid, final ChestAction action)
 	{
+		// if passed chestUid or action is null, do nothing and return
+		if (chestUid == null || action == null)
+		{
+			return;
+		}
+
+		// queue pending operation insert
+		writer.submit(WriteOperation.insertPendingOperation(chestUid, action));
+	}
+
+
+	/**
+	 * Execute a batch of write operations in a single transaction. Called by the datastore writer thread.
+	 * If the transaction fails, it is rolled back and the operations are replayed one at a time,
+	 * so only the operations that fail on their own are dropped.
+	 *
+	 * @param operations the write operations to execute, in order
+	 * @return the number of rows affected
+	 */
+	synchronized int writeBatch(final List<WriteOperation> operations)
+	{
+		// if there are no operations, do nothing and return
+		if (operations.isEmpty())
+		{
+			return 0;
+		}
+
 		int count = 0;
+		boolean rolledBack = false;
 
-		for (ChestBlock blockRecord : blockRecords)
+		try
 		{
+			connection.setAutoCommit(false);
 
-			// if blockRecord is null, skip to next record in collection
-			if (blockRecord == null)
+			// add consecutive operations that use the same query to one statement batch
+			int start = 0;
+			while (start < operations.size())
 			{
-				continue;
+				final String queryName = operations.get(start).queryName();
+				int end = start;
+				while (end < operations.size() && operations.get(end).queryName().equals(queryName))
+				{
+					end++;
+				}
+				count += executeBatch(queryName, operations.subList(start, end));
+				start = end;
 			}
 
+			connection.commit();
+
+			// output debugging information
+			if (plugin.getSettings().debug())
+			{
+				plugin.getLogger().info(operations.size() + " write operations committed to the " + this
+						+ " datastore in one transaction (" + count + " rows affected).");
+			}
+		}
+		catch (SQLException | RuntimeException e)
+		{
+			plugin.getLogger().warning("An error occurred while committing a batch of "
+					+ operations.size() + " writes to the " + this + " datastore. Retrying writes individually.");
+			plugin.getLogger().warning(e.getMessage());
+			if (plugin.getSettings().debug())
+			{
+				e.printStackTrace();
+			}
+			rollback();
+			rolledBack = true;
+		}
+		finally
+		{
 			try
 			{
-				// create prepared statement
-				PreparedStatement preparedStatement =
-						connection.prepareStatement(Queries.getQuery("InsertBlockRecord"));
-
-				preparedStatement.setLong(1, blockRecord.getChestUid().getMostSignificantBits());
-				preparedStatement.setLong(2, blockRecord.getChestUid().getLeastSignificantBits());
-				preparedStatement.setString(3, blockRecord.getWorldName());
-				preparedStatement.setLong(4, blockRecord.getWorldUid().getMostSignificantBits());
-				preparedStatement.setLong(5, blockRecord.getWorldUid().getLeastSignificantBits());
-				preparedStatement.setInt(6, blockRecord.getX());
-				preparedStatement.setInt(7, blockRecord.getY());
-				preparedStatement.setInt(8, blockRecord.getZ());
-
-				// execute prepared statement
-				int rowsAffected = preparedStatement.executeUpdate();
-
-				count += rowsAffected;
+				connection.setAutoCommit(true);
 			}
 			catch (SQLException e)
 			{
-				plugin.getLogger().warning("An error occurred while "
-						+ "inserting a death chest block into the SQLite datastore.");
-				plugin.getLogger().warning(e.getMessage());
-				if (plugin.getConfig().getBoolean("debug"))
-				{
-					e.printStackTrace();
-				}
+				plugin.getLogger().warning("Could not restore auto-commit mode for the " + this + " datastore.");
 			}
 		}
 
-		// output debugging information
-		if (plugin.getConfig().getBoolean("debug"))
+		// if transaction was rolled back, replay operations one at a time in auto-commit mode
+		if (rolledBack)
 		{
-			plugin.getLogger().info(count + " block records inserted into the " +
-					"SQLite datastore.");
+			count = writeEach(operations);
 		}
 
 		return count;
 	}
 
 
-	@Override
-	synchronized public void deleteChestRecord(final DeathChestRecord deathChest)
+	/**
+	 * Execute write operations one at a time in auto-commit mode, logging and dropping any operation that fails
+	 *
+	 * @param operations the write operations to execute, in order
+	 * @return the number of rows affected
+	 */
+	private int writeEach(final List<WriteOperation> operations)
 	{
-		// if passed deathChest is null, do nothing and return
-		if (deathChest == null)
-		{
-			return;
-		}
+		int count = 0;
 
-		new BukkitRunnable()
+		for (WriteOperation operation : operations)
 		{
-			@Override
-			public void run()
+			try
 			{
-				try
+				final PreparedStatement preparedStatement = getPreparedStatement(operation.queryName());
+				preparedStatement.clearParameters();
+				operation.binder().bind(preparedStatement);
+				count += Math.max(0, preparedStatement.executeUpdate());
+			}
+			catch (SQLException | RuntimeException e)
+			{
+				plugin.getLogger().warning("An error occurred while executing a " + operation.queryName()
+						+ " operation in the " + this + " datastore. The write was dropped.");
+				plugin.getLogger().warning(e.getMessage());
+				if (plugin.getSettings().debug())
 				{
-					// create prepared statement
-					PreparedStatement preparedStatement =
-							connection.prepareStatement(Queries.getQuery("DeleteChestByUUID"));
+					e.printStackTrace();
+				}
+			}
+		}
 
-					preparedStatement.setLong(1, deathChest.chestUid().getMostSignificantBits());
-					preparedStatement.setLong(2, deathChest.chestUid().getLeastSignificantBits());
+		return count;
+	}
 
-					// execute prepared statement
-					int rowsAffected = preparedStatement.executeUpdate();
 
-					// output debugging information
-					if (plugin.getConfig().getBoolean("debug"))
-					{
-						plugin.getLogger().info(rowsAffected + " chest records deleted from the SQLite datastore.");
-					}
-				} catch (SQLException e)
+	/**
+	 * Execute a group of write operations that share a query as a single JDBC statement batch.
+	 * If the batch fails, it is cleared and the exception is rethrown so the enclosing transaction is rolled back.
+	 *
+	 * @param queryName the name of the query shared by all operations in the group
+	 * @param operations the write operations to execute
+	 * @return the number of rows affected
+	 * @throws SQLException if the batch could not be executed
+	 */
+	private int executeBatch(final String queryName, final List<WriteOperation> operations) throws SQLException
+	{
+		int count = 0;
+
+		try
+		{
+			final PreparedStatement preparedStatement = getPreparedStatement(queryName);
+
+			for (WriteOperation operation : operations)
+			{
+				operation.binder().bind(preparedStatement);
+				preparedStatement.addBatch();
+			}
+
+			for (int result : preparedStatement.executeBatch())
+			{
+				if (result > 0)
 				{
-					plugin.getLogger().warning("An error occurred while attempting to "
-							+ "delete a chest record from the SQLite datastore.");
-					plugin.getLogger().warning(e.getMessage());
-					if (plugin.getConfig().getBoolean("debug"))
-					{
-						e.printStackTrace();
-					}
+					count += result;
 				}
 			}
-		}.runTaskAsynchronously(plugin);
+		}
+		catch (SQLException | RuntimeException e)
+		{
+			plugin.getLogger().warning("An error occurred while executing a batch of " + operations.size()
+					+ " " + queryName + " operations in the " + this + " datastore.");
+			clearBatch(queryName);
+			throw e;
+		}
 
+		return count;
 	}
 
 
-	@Override
-	synchronized public void deleteBlockRecord(final ChestBlock chestBlock)
+	/**
+	 * Get a prepared statement for the named query, preparing it on first use for this connection
+	 *
+	 * @param queryName the name of the query in the queries properties file
+	 * @return the cached prepared statement
+	 * @throws SQLException if the statement could not be prepared
+	 */
+	private PreparedStatement getPreparedStatement(final String queryName) throws SQLException
 	{
-		// if passed chestBlock is null, do nothing and return
-		if (chestBlock == null)
+		PreparedStatement preparedStatement = statementCache.get(queryName);
+
+		if (preparedStatement == null || preparedStatement.isClosed())
 		{
-			return;
+			preparedStatement = connection.prepareStatement(Queries.getQuery(queryName));
+			statementCache.put(queryName, preparedStatement);
 		}
 
-		new BukkitRunnable()
+		return preparedStatement;
+	}
+
+
+	/**
+	 * Discard any parameters left in the batch of a cached statement after a failed batch
+	 *
+	 * @param queryName the name of the query whose batch is cleared
+	 */
+	private void clearBatch(final String queryName)
+	{
+		final PreparedStatement preparedStatement = statementCache.get(queryName);
+
+		if (preparedStatement != null)
 		{
-			@Override
-			public void run()
+			try
 			{
-				try
-				{
-					// create prepared statement
-					PreparedStatement preparedStatement =
-							connection.prepareStatement(Queries.getQuery("DeleteBlockByLocation"));
-
-					preparedStatement.setLong(1, chestBlock.getWorldUid().getMostSignificantBits());
-					preparedStatement.setLong(2, chestBlock.getWorldUid().getLeastSignificantBits());
-					preparedStatement.setInt(3, chestBlock.getX());
-					preparedStatement.setInt(4, chestBlock.getY());
-					preparedStatement.setInt(5, chestBlock.getZ());
+				preparedStatement.clearBatch();
+			}
+			catch (SQLException e)
+			{
+				statementCache.remove(queryName);
+			}
+		}
+	}
 
-					// execute prepared statement
-					int rowsAffected = preparedStatement.executeUpdate();
 
-					// output debugging information
-					if (plugin.getConfig().getBoolean("debug"))
-					{
-						plugin.getLogger().info(rowsAffected + " block records deleted from the SQLite datastore.");
-					}
-				} catch (SQLException e)
-				{
-					plugin.getLogger().warning("An error occurred while attempting to "
-							+ "delete a record from the SQLite datastore.");
-					plugin.getLogger().warning(e.getMessage());
-					if (plugin.getConfig().getBoolean("debug"))
-					{
-						e.printStackTrace();
-					}
-				}
+	/**
+	 * Close all cached prepared statements
+	 */
+	private synchronized void closeStatements()
+	{
+		for (PreparedStatement preparedStatement : statementCache.values())
+		{
+			try
+			{
+				preparedStatement.close();
 			}
-		}.runTaskAsynchronously(plugin);
+			catch (SQLException e)
+			{
+				plugin.getLogger().warning("An error occurred while closing a prepared statement in the " + this + " datastore.");
+				plugin.getLogger().warning(e.getMessage());
+			}
+		}
+		statementCache.clear();
+	}
+
+
+	/**
+	 * Roll back the current transaction, logging any error
+	 */
+	private void rollback()
+	{
+		try
+		{
+			connection.rollback();
+		}
+		catch (SQLException e)
+		{
+			plugin.getLogger().warning("An error occurred while rolling back a transaction in the " + this + " datastore.");
+			plugin.getLogger().warning(e.getMessage());
+		}
 	}
 
 
@@ -673,18 +1057,17 @@ final class DataStoreSQLite extends DataStoreAbstract implements DataStore
 
 		try
 		{
-			// create prepared statement
-			PreparedStatement preparedStatement =
-					connection.prepareStatement(Queries.getQuery("DeleteOrphanedChests"));
+			// get cached prepared statement
+			PreparedStatement preparedStatement = getPreparedStatement("DeleteOrphanedChests");
 
-			preparedStatement.setString(1, worldName);
-			preparedStatement.setLong(2, pastDueTime);
+			preparedStatement.setLong(1, pastDueTime);
+			preparedStatement.setString(2, worldName);
 
 			// execute prepared statement
 			int rowsAffected = preparedStatement.executeUpdate();
 
 			// output debugging information
-			if (plugin.getConfig().getBoolean("debug"))
+			if (plugin.getSettings().debug())
 			{
 				plugin.getLogger().info(rowsAffected + " rows deleted.");
 			}
@@ -694,7 +1077,7 @@ final class DataStoreSQLite extends DataStoreAbstract implements DataStore
 			plugin.getLogger().warning("An error occurred while attempting to delete orphaned chests from the " +
 					this + " datastore.");
 			plugin.getLogger().warning(e.getMessage());
-			if (plugin.getConfig().getBoolean("debug"))
+			if (plugin.getSettings().debug())
 			{
 				e.printStackTrace();
 			}
@@ -0,0 +1,373 @@
+/*
+ * Copyright (c) 2022 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.deathchest.storage;
+
+import com.winterhavenmc.deathchest.PluginMain;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+
+/**
+ * A single writer thread that collects pending datastore writes in a bounded queue
+ * and commits them in one transaction per flush window.
+ */
+final class DataStoreWriter implements Runnable
+{
+	// maximum number of pending operations before submitting threads are made to wait
+	private static final int QUEUE_CAPACITY = 8192;
+
+	// maximum number of operations committed in a single transaction
+	private static final int MAX_BATCH_SIZE = 256;
+
+	// maximum time an operation waits in the queue before being committed
+	private static final long FLUSH_INTERVAL_MILLIS = 50;
+
+	// maximum time to wait for the writer thread to finish on shutdown
+	private static final long SHUTDOWN_TIMEOUT_MILLIS = 5000;
+
+	// reference to main class
+	private final PluginMain plugin;
+
+	// reference to the datastore that executes the writes
+	private final DataStoreSQLite dataStore;
+
+	// queue of pending write operations
+	private final BlockingQueue<WriteOperation> queue;
+
+	// lock held while operations are written, so writes by the writer thread and direct flushes do not interleave
+	private final ReentrantLock writeLock;
+
+	private final Thread thread;
+
+	private volatile boolean running;
+
+
+	/**
+	 * Class constructor
+	 *
+	 * @param plugin reference to plugin main class
+	 * @param dataStore the datastore that will execute the queued writes
+	 */
+	DataStoreWriter(final PluginMain plugin, final DataStoreSQLite dataStore)
+	{
+		this.plugin = plugin;
+		this.dataStore = dataStore;
+		this.queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+		this.writeLock = new ReentrantLock(true);
+		this.thread = new Thread(this, plugin.getName() + " DataStore Writer");
+		this.thread.setDaemon(true);
+	}
+
+
+	/**
+	 * Start the writer thread
+	 */
+	void start()
+	{
+		running = true;
+		thread.start();
+	}
+
+
+	/**
+	 * Add a write operation to the queue. If the writer has been shut down or has stopped, the operation is written
+	 * immediately after any operations still queued. If the queue is full, the calling thread waits until space
+	 * is available or the writer stops.
+	 *
+	 * @param operation the write operation to queue
+	 */
+	void submit(final WriteOperation operation)
+	{
+		try
+		{
+			// wait for space in queue, checking that the writer is still running while the queue is full
+			while (running)
+			{
+				if (queue.offer(operation, FLUSH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS))
+				{
+					// if writer was shut down while operation was queued, the final flush may have missed it
+					if (!running)
+					{
+						flush();
+					}
+					return;
+				}
+			}
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		}
+
+		// commit queued operations first, to keep writes in submission order
+		flush();
+		dataStore.writeBatch(List.of(operation));
+	}
+
+
+	/**
+	 * Get the number of operations waiting to be written
+	 *
+	 * @return the number of queued write operations
+	 */
+	int getQueueSize()
+	{
+		return queue.size();
+	}
+
+
+	/**
+	 * Block until all queued operations are committed. While the writer thread is running, a flush marker is queued
+	 * and the calling thread waits for the writer to reach it; otherwise queued operations are written on the
+	 * calling thread.
+	 */
+	void flush()
+	{
+		// if writer thread is not running, or flush is called on the writer thread, write queued operations directly
+		if (!running || Thread.currentThread() == thread)
+		{
+			writeQueued();
+			return;
+		}
+
+		final CountDownLatch latch = new CountDownLatch(1);
+		boolean interrupted = false;
+
+		// queue flush marker behind all pending operations
+		while (true)
+		{
+			try
+			{
+				queue.put(WriteOperation.flushMarker(latch));
+				break;
+			}
+			catch (InterruptedException e)
+			{
+				interrupted = true;
+			}
+		}
+
+		// wait for writer thread to reach flush marker
+		final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(SHUTDOWN_TIMEOUT_MILLIS);
+		while (latch.getCount() > 0)
+		{
+			long remaining = deadline - System.nanoTime();
+			if (remaining <= 0)
+			{
+				break;
+			}
+			try
+			{
+				latch.await(remaining, TimeUnit.NANOSECONDS);
+			}
+			catch (InterruptedException e)
+			{
+				interrupted = true;
+			}
+		}
+
+		// restore interrupt status
+		if (interrupted)
+		{
+			Thread.currentThread().interrupt();
+		}
+
+		// if writer thread did not reach flush marker in time, write remaining operations directly
+		if (latch.getCount() > 0)
+		{
+			writeQueued();
+		}
+	}
+
+
+	/**
+	 * Write all queued operations on the calling thread
+	 */
+	private void writeQueued()
+	{
+		final List<WriteOperation> operations = new ArrayList<>(queue.size());
+		queue.drainTo(operations);
+		write(operations);
+	}
+
+
+	/**
+	 * Write operations in order, committing the operations before each flush marker and then releasing the marker
+	 *
+	 * @param operations the operations to write, which may include flush markers
+	 */
+	private void write(final List<WriteOperation> operations)
+	{
+		writeLock.lock();
+		try
+		{
+			int start = 0;
+			for (int i = 0; i < operations.size(); i++)
+			{
+				if (operations.get(i).isFlushMarker())
+				{
+					if (i > start)
+					{
+						writeBatch(operations.subList(start, i));
+					}
+					operations.get(i).releaseFlushMarker();
+					start = i + 1;
+				}
+			}
+			if (start < operations.size())
+			{
+				writeBatch(operations.subList(start, operations.size()));
+			}
+		}
+		finally
+		{
+			writeLock.unlock();
+		}
+	}
+
+
+	/**
+	 * Write a batch of operations, logging and discarding the batch if an unexpected exception is thrown,
+	 * so the writer thread keeps running
+	 *
+	 * @param operations the operations to write, without flush markers
+	 */
+	private void writeBatch(final List<WriteOperation> operations)
+	{
+		try
+		{
+			dataStore.writeBatch(operations);
+		}
+		catch (RuntimeException e)
+		{
+			plugin.getLogger().warning("An unexpected error occurred while writing a batch of "
+					+ operations.size() + " operations to the " + dataStore + " datastore.");
+			plugin.getLogger().warning(e.getLocalizedMessage());
+			if (plugin.getSettings().debug())
+			{
+				e.printStackTrace();
+			}
+		}
+	}
+
+
+	/**
+	 * Stop the writer thread and write any operations remaining in the queue
+	 */
+	void shutdown()
+	{
+		running = false;
+
+		try
+		{
+			thread.join(SHUTDOWN_TIMEOUT_MILLIS);
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		}
+
+		flush();
+	}
+
+
+	@Override
+	public void run()
+	{
+		try
+		{
+			writeLoop();
+		}
+		finally
+		{
+			// if writer thread stopped unexpectedly, submitted operations are written on the submitting thread
+			if (running)
+			{
+				running = false;
+				plugin.getLogger().severe("The datastore writer thread stopped unexpectedly. "
+						+ "Datastore writes will be made synchronously.");
+			}
+		}
+	}
+
+
+	/**
+	 * Collect queued operations into batches and write them until the writer is shut down
+	 */
+	private void writeLoop()
+	{
+		final List<WriteOperation> batch = new ArrayList<>(MAX_BATCH_SIZE);
+
+		while (running)
+		{
+			// wait for first operation of next batch
+			WriteOperation operation;
+			try
+			{
+				operation = queue.poll(FLUSH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+			}
+			catch (InterruptedException e)
+			{
+				plugin.getLogger().warning("The datastore writer thread was interrupted.");
+				running = false;
+				break;
+			}
+			if (operation == null)
+			{
+				continue;
+			}
+			batch.add(operation);
+
+			try
+			{
+				// collect operations until flush window closes, batch is full or a flush marker is reached
+				final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(FLUSH_INTERVAL_MILLIS);
+				while (batch.size() < MAX_BATCH_SIZE && !operation.isFlushMarker())
+				{
+					long remaining = deadline - System.nanoTime();
+					if (remaining <= 0)
+					{
+						break;
+					}
+					operation = queue.poll(remaining, TimeUnit.NANOSECONDS);
+					if (operation == null)
+					{
+						break;
+					}
+					batch.add(operation);
+				}
+			}
+			catch (InterruptedException e)
+			{
+				plugin.getLogger().warning("The datastore writer thread was interrupted.");
+				running = false;
+			}
+
+			// write all collected operations in a single transaction
+			write(batch);
+			batch.clear();
+		}
+	}
+
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2022 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.deathchest.storage;
+
+import com.winterhavenmc.deathchest.chests.ChestAction;
+import com.winterhavenmc.deathchest.chests.ChestBlock;
+import com.winterhavenmc.deathchest.chests.DeathChestRecord;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+
+
+/**
+ * A record that represents a single pending write to the datastore. The values to be written are captured
+ * when the operation is created, so operations can be safely executed later on the datastore writer thread.
+ *
+ * @param queryName the name of the query in the queries properties file
+ * @param binder    the function that sets the parameters of the prepared statement for this operation
+ */
+record WriteOperation(String queryName, StatementBinder binder)
+{
+	// query name of flush markers, which are never written
+	private static final String FLUSH_MARKER = "FlushMarker";
+
+
+	/**
+	 * A functional interface for setting the parameters of a prepared statement
+	 */
+	@FunctionalInterface
+	interface StatementBinder
+	{
+		void bind(final PreparedStatement preparedStatement) throws SQLException;
+	}
+
+
+	/**
+	 * Create a flush marker. A flush marker is not written to the datastore; when the writer reaches the marker,
+	 * all operations queued before it have been committed and the latch is released.
+	 *
+	 * @param latch the latch to release when the marker is reached
+	 * @return the flush marker
+	 */
+	static WriteOperation flushMarker(final CountDownLatch latch)
+	{
+		return new WriteOperation(FLUSH_MARKER, preparedStatement -> latch.countDown());
+	}
+
+
+	/**
+	 * Check if this operation is a flush marker
+	 *
+	 * @return true if this operation is a flush marker, false if it is a write
+	 */
+	boolean isFlushMarker()
+	{
+		return FLUSH_MARKER.equals(queryName);
+	}
+
+
+	/**
+	 * Release the latch of a flush marker
+	 */
+	void releaseFlushMarker()
+	{
+		try
+		{
+			binder.bind(null);
+		}
+		catch (SQLException e)
+		{
+			// flush marker binders do not access the statement
+		}
+	}
+
+
+	/**
+	 * Create an operation to insert a chest record
+	 *
+	 * @param deathChest the chest record to insert
+	 * @return the write operation
+	 */
+	static WriteOperation insertChest(final DeathChestRecord deathChest)
+	{
+		return new WriteOperation("InsertChestRecord", preparedStatement -> {
+			preparedStatement.setLong(1, deathChest.chestUid().getMostSignificantBits());
+			preparedStatement.setLong(2, deathChest.chestUid().getLeastSignificantBits());
+			preparedStatement.setLong(3, deathChest.ownerUid().getMostSignificantBits());
+			preparedStatement.setLong(4, deathChest.ownerUid().getLeastSignificantBits());
+			preparedStatement.setString(5, deathChest.ownerName());
+			preparedStatement.setLong(6, deathChest.killerUid().getMostSignificantBits());
+			preparedStatement.setLong(7, deathChest.killerUid().getLeastSignificantBits());
+			preparedStatement.setString(8, deathChest.killerName());
+			preparedStatement.setLong(9, deathChest.worldUid().getMostSignificantBits());
+			preparedStatement.setLong(10, deathChest.worldUid().getLeastSignificantBits());
+			preparedStatement.setString(11, deathChest.worldName());
+			preparedStatement.setInt(12, deathChest.locationX());
+			preparedStatement.setInt(13, deathChest.locationY());
+			preparedStatement.setInt(14, deathChest.locationZ());
+			preparedStatement.setInt(15, deathChest.itemCount());
+			preparedStatement.setLong(16, deathChest.placementTime().toEpochMilli());
+			preparedStatement.setLong(17, deathChest.expirationTime().toEpochMilli());
+			preparedStatement.setLong(18, deathChest.protectionTime().toEpochMilli());
+		});
+	}
+
+
+	/**
+	 * Create an operation to insert a block record
+	 *
+	 * @param chestBlock the chest block to insert
+	 * @return the write operation
+	 */
+	static WriteOperation insertBlock(final ChestBlock chestBlock)
+	{
+		return new WriteOperation("InsertBlockRecord", preparedStatement -> {
+			preparedStatement.setLong(1, chestBlock.getChestUid().getMostSignificantBits());
+			preparedStatement.setLong(2, chestBlock.getChestUid().getLeastSignificantBits());
+			preparedStatement.setString(3, chestBlock.getWorldName());
+			preparedStatement.setLong(4, chestBlock.getWorldUid().getMostSignificantBits());
+			preparedStatement.setLong(5, chestBlock.getWorldUid().getLeastSignificantBits());
+			preparedStatement.setInt(6, chestBlock.getX());
+			preparedStatement.setInt(7, chestBlock.getY());
+			preparedStatement.setInt(8, chestBlock.getZ());
+			preparedStatement.setLong(9, chestBlock.getChunkKey());
+		});
+	}
+
+
+	/**
+	 * Create an operation to insert a pending operation record
+	 *
+	 * @param chestUid the uid of the chest
+	 * @param action the deferred action on the chest
+	 * @return the write operation
+	 */
+	static WriteOperation insertPendingOperation(final UUID chestUid, final ChestAction action)
+	{
+		final long queuedTime = System.currentTimeMillis();
+
+		return new WriteOperation("InsertPendingOperation", preparedStatement -> {
+			preparedStatement.setLong(1, chestUid.getMostSignificantBits());
+			preparedStatement.setLong(2, chestUid.getLeastSignificantBits());
+			preparedStatement.setString(3, action.name());
+			preparedStatement.setLong(4, queuedTime);
+		});
+	}
+
+
+	/**
+	 * Create an operation to delete a chest record
+	 *
+	 * @param deathChest the chest record to delete
+	 * @return the write operation
+	 */
+	static WriteOperation deleteChest(final DeathChestRecord deathChest)
+	{
+		return new WriteOperation("DeleteChestByUUID", preparedStatement -> {
+			preparedStatement.setLong(1, deathChest.chestUid().getMostSignificantBits());
+			preparedStatement.setLong(2, deathChest.chestUid().getLeastSignificantBits());
+		});
+	}
+
+
+	/**
+	 * Create an operation to delete a block record
+	 *
+	 * @param chestBlock the chest block to delete
+	 * @return the write operation
+	 */
+	static WriteOperation deleteBlock(final ChestBlock chestBlock)
+	{
+		return new WriteOperation("DeleteBlockByLocation", preparedStatement -> {
+			preparedStatement.setLong(1, chestBlock.getWorldUid().getMostSignificantBits());
+			preparedStatement.setLong(2, chestBlock.getWorldUid().getLeastSignificantBits());
+			preparedStatement.setInt(3, chestBlock.getX());
+			preparedStatement.setInt(4, chestBlock.getY());
+			preparedStatement.setInt(5, chestBlock.getZ());
+		});
+	}
+
+}
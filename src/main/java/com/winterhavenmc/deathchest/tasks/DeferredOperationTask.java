@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2022 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.deathchest.tasks;
+
+import com.winterhavenmc.deathchest.chests.ChestManager;
+import org.bukkit.scheduler.BukkitRunnable;
+
+
+/**
+ * A class that implements a repeating task to load chunks of death chests with deferred expirations
+ */
+public final class DeferredOperationTask extends BukkitRunnable
+{
+	private final ChestManager chestManager;
+
+
+	/**
+	 * Class constructor
+	 * @param chestManager the chest manager whose deferred operations will be drained
+	 */
+	public DeferredOperationTask(final ChestManager chestManager)
+	{
+		this.chestManager = chestManager;
+	}
+
+
+	@Override
+	public void run()
+	{
+		// load chunks of death chests with deferred operations
+		this.chestManager.drainDeferredOperations();
+	}
+
+}
@@ -18,6 +18,9 @@
 package com.winterhavenmc.deathchest.tasks;
 
 import com.winterhavenmc.deathchest.PluginMain;
+import com.winterhavenmc.deathchest.chests.search.SearchCandidates;
+import com.winterhavenmc.deathchest.chests.search.SearchSnapshot;
+import com.winterhavenmc.deathchest.chests.search.SearchType;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.scheduler.BukkitRunnable;
@@ -42,7 +45,39 @@ public class DeployChestTask extends BukkitRunnable
 
 	public void run()
 	{
-		plugin.chestManager.getDeploymentFactory().createDeployment(plugin, player, droppedItems).deploy();
+		// if snapshot search is configured, rank candidate locations from chunk snapshots off the main thread,
+		// then deploy chest on the main thread
+		if (plugin.getSettings().searchType().equals(SearchType.SNAPSHOT))
+		{
+			final SearchSnapshot searchSnapshot = SearchSnapshot.capture(plugin, player);
+
+			if (searchSnapshot != null)
+			{
+				plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
+					final SearchCandidates searchCandidates = searchSnapshot.rank();
+					plugin.getServer().getScheduler().runTask(plugin, () -> {
+						// if player logged out or changed worlds while ranking, candidates may be stale; search synchronously
+						if (!player.isOnline() || !player.getWorld().equals(searchCandidates.getWorld()))
+						{
+							deploy(null);
+						}
+						else
+						{
+							deploy(searchCandidates);
+						}
+					});
+				});
+				return;
+			}
+		}
+
+		deploy(null);
+	}
+
+
+	private void deploy(final SearchCandidates searchCandidates)
+	{
+		plugin.chestManager.getDeploymentFactory().createDeployment(plugin, player, droppedItems, searchCandidates).deploy();
 	}
 
 }
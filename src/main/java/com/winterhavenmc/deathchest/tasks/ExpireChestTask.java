@@ -18,39 +18,32 @@
 package com.winterhavenmc.deathchest.tasks;
 
 import com.winterhavenmc.deathchest.chests.ChestManager;
-import com.winterhavenmc.deathchest.chests.DeathChestRecord;
 import org.bukkit.scheduler.BukkitRunnable;
 
 
 /**
- * A class that implements a death chest expire task to be run at the appropriate time
+ * A class that implements a repeating task to expire death chests whose expiration time has passed
  */
 public final class ExpireChestTask extends BukkitRunnable
 {
 	private final ChestManager chestManager;
-	private final DeathChestRecord deathChest;
 
 
 	/**
 	 * Class constructor
-	 * @param deathChest the death chest to expire
+	 * @param chestManager the chest manager whose due chests will be expired
 	 */
-	public ExpireChestTask(final ChestManager chestManager, final DeathChestRecord deathChest)
+	public ExpireChestTask(final ChestManager chestManager)
 	{
 		this.chestManager = chestManager;
-		this.deathChest = deathChest;
 	}
 
 
 	@Override
 	public void run()
 	{
-		// check for null death chest
-		if (this.deathChest != null)
-		{
-			// expire death chest
-			this.chestManager.expire(deathChest);
-		}
+		// expire death chests that are due
+		this.chestManager.expireDueChests();
 	}
 
 }
@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2022 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+
+package com.winterhavenmc.deathchest.chests.deployment;
+
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+
+class DeploymentFactoryTest {
+
+    // player inventory size, including armor and off hand slots
+    private static final int INVENTORY_SIZE = 41;
+
+    private static final Material[] MATERIALS = { Material.STONE, Material.DIRT, Material.ENDER_PEARL, Material.DIAMOND_SWORD };
+    private static final int[] MAX_STACK_SIZES = { 64, 64, 16, 1 };
+
+
+    @Test
+    void consolidateItemStacksMatchesPairwiseLoop() {
+
+        final DeploymentFactory deploymentFactory = new DeploymentFactory();
+        final Random random = new Random(20221);
+
+        for (int run = 0; run < 1000; run++) {
+
+            final List<TestStack> inventory = randomInventory(random);
+            final List<TestStack> expectedInput = copy(inventory);
+            final List<TestStack> actualInput = copy(inventory);
+
+            final List<ItemStack> expected = new ArrayList<>(pairwiseConsolidate(new ArrayList<>(expectedInput)));
+            final List<ItemStack> actual = new ArrayList<>(deploymentFactory.consolidateItemStacks(new ArrayList<>(actualInput)));
+
+            // same stacks kept, in the same order, with the same amounts
+            assertEquals(expected.size(), actual.size(), "run " + run);
+            for (int i = 0; i < expected.size(); i++) {
+                final TestStack expectedStack = (TestStack) expected.get(i);
+                final TestStack actualStack = (TestStack) actual.get(i);
+                assertEquals(expectedStack.slot, actualStack.slot, "run " + run + " index " + i);
+                assertEquals(expectedStack.getAmount(), actualStack.getAmount(), "run " + run + " index " + i);
+            }
+
+            // returned stacks are the input stacks, merged in place
+            for (ItemStack itemStack : actual) {
+                assertSame(actualInput.get(((TestStack) itemStack).slot), itemStack);
+            }
+        }
+    }
+
+
+    @Test
+    void consolidateItemStacksMergesIntoEarliestStacks() {
+
+        final List<ItemStack> itemStacks = new ArrayList<>();
+        itemStacks.add(new TestStack(0, Material.STONE, 64, 40, null));
+        itemStacks.add(null);
+        itemStacks.add(new TestStack(2, Material.STONE, 64, 40, null));
+        itemStacks.add(new TestStack(3, Material.STONE, 64, 40, 1));
+        itemStacks.add(new TestStack(4, Material.STONE, 64, 40, null));
+
+        final List<ItemStack> result = new ArrayList<>(new DeploymentFactory().consolidateItemStacks(itemStacks));
+
+        assertEquals(3, result.size());
+        assertEquals(0, ((TestStack) result.get(0)).slot);
+        assertEquals(64, result.get(0).getAmount());
+        assertEquals(2, ((TestStack) result.get(1)).slot);
+        assertEquals(56, result.get(1).getAmount());
+        assertEquals(3, ((TestStack) result.get(2)).slot);
+        assertEquals(40, result.get(2).getAmount());
+    }
+
+
+    /**
+     * The pairwise consolidation loop used before stacks were bucketed by material
+     */
+    private static Collection<ItemStack> pairwiseConsolidate(final Collection<ItemStack> itemStacks) {
+
+        final Collection<ItemStack> returnList = new LinkedList<>();
+
+        for (ItemStack itemStack : itemStacks) {
+            if (itemStack == null) {
+                continue;
+            }
+
+            for (ItemStack checkStack : returnList) {
+                if (checkStack == null) {
+                    continue;
+                }
+                if (checkStack.isSimilar(itemStack)) {
+                    int transferAmount = Math.min(itemStack.getAmount(), checkStack.getMaxStackSize() - checkStack.getAmount());
+                    itemStack.setAmount(itemStack.getAmount() - transferAmount);
+                    checkStack.setAmount(checkStack.getAmount() + transferAmount);
+                }
+            }
+            if (itemStack.getAmount() > 0) {
+                returnList.add(itemStack);
+            }
+        }
+        return returnList;
+    }
+
+
+    private static List<TestStack> randomInventory(final Random random) {
+
+        final List<TestStack> inventory = new ArrayList<>(INVENTORY_SIZE);
+
+        for (int slot = 0; slot < INVENTORY_SIZE; slot++) {
+
+            // leave some slots empty
+            if (random.nextInt(4) == 0) {
+                inventory.add(null);
+                continue;
+            }
+
+            final int type = random.nextInt(MATERIALS.length);
+            final int maxStackSize = MAX_STACK_SIZES[type];
+
+            // most stacks have no item meta; others have one of a few distinct metas
+            final Integer meta = random.nextInt(3) == 0 ? random.nextInt(3) : null;
+
+            inventory.add(new TestStack(slot, MATERIALS[type], maxStackSize, 1 + random.nextInt(maxStackSize), meta));
+        }
+
+        return inventory;
+    }
+
+
+    private static List<TestStack> copy(final List<TestStack> inventory) {
+
+        final List<TestStack> copy = new ArrayList<>(inventory.size());
+        for (TestStack testStack : inventory) {
+            copy.add(testStack == null
+                    ? null
+                    : new TestStack(testStack.slot, testStack.material, testStack.maxStackSize, testStack.amount, testStack.meta));
+        }
+        return copy;
+    }
+
+
+    /**
+     * An item stack that does not require a server. Stacks are similar if they have the same material and meta.
+     */
+    private static final class TestStack extends ItemStack {
+
+        private final int slot;
+        private final Material material;
+        private final int maxStackSize;
+        private final Integer meta;
+        private int amount;
+
+
+        TestStack(final int slot, final Material material, final int maxStackSize, final int amount, final Integer meta) {
+            this.slot = slot;
+            this.material = material;
+            this.maxStackSize = maxStackSize;
+            this.amount = amount;
+            this.meta = meta;
+        }
+
+
+        @Override
+        public Material getType() {
+            return material;
+        }
+
+
+        @Override
+        public int getAmount() {
+            return amount;
+        }
+
+
+        @Override
+        public void setAmount(final int amount) {
+            this.amount = amount;
+        }
+
+
+        @Override
+        public int getMaxStackSize() {
+            return maxStackSize;
+        }
+
+
+        @Override
+        public boolean hasItemMeta() {
+            return meta != null;
+        }
+
+
+        @Override
+        public boolean isSimilar(final ItemStack stack) {
+            return stack instanceof TestStack testStack
+                    && material == testStack.material
+                    && Objects.equals(meta, testStack.meta);
+        }
+
+    }
+
+}